@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+
+cd $(dirname $0)
+cd ../../
+
+JAR_FILE=$(ls target/reactor-aeron-benchmarks*.jar |grep jar)
+
+java \
+    -cp ${JAR_FILE}:target/lib/* \
+    -XX:BiasedLockingStartupDelay=0 \
+    ${JVM_OPTS} reactor.aeron.IdleStrategyBurstLatency
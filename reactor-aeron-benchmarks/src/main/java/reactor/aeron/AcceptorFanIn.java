@@ -0,0 +1,101 @@
+package reactor.aeron;
+
+import java.util.List;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures time until given number of clients, connecting simultaneously, all get connected to a
+ * server with single acceptor and with acceptor sharded across server workers (see {@link
+ * AeronOptions#acceptorShards(int)}).
+ */
+public class AcceptorFanIn {
+
+  private static final int CLIENTS = Integer.getInteger("reactor.aeron.sample.fanin.clients", 256);
+  private static final int WORKERS = Integer.getInteger("reactor.aeron.sample.fanin.workers", 4);
+  private static final int ROUNDS = Integer.getInteger("reactor.aeron.sample.fanin.rounds", 5);
+
+  /**
+   * Main runner.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    System.out.println(
+        "Using worker idle strategy "
+            + Configurations.idleStrategy().getClass()
+            + "("
+            + Configurations.IDLE_STRATEGY
+            + ")");
+    System.out.println(
+        CLIENTS + " clients, " + WORKERS + " server workers, " + ROUNDS + " rounds");
+
+    run(1);
+    run(WORKERS);
+  }
+
+  private static void run(int shards) {
+    AeronResources serverResources =
+        new AeronResources()
+            .useTmpDir()
+            .numOfWorkers(WORKERS)
+            .workerIdleStrategySupplier(Configurations::idleStrategy)
+            .start()
+            .block();
+    AeronResources clientResources =
+        new AeronResources()
+            .useTmpDir()
+            .numOfWorkers(WORKERS)
+            .workerIdleStrategySupplier(Configurations::idleStrategy)
+            .start()
+            .block();
+
+    try {
+      AeronServer.create(serverResources)
+          .options(
+              Configurations.MDC_ADDRESS,
+              Configurations.MDC_PORT,
+              Configurations.MDC_CONTROL_PORT)
+          .options(options -> options.acceptorShards(shards))
+          .handle(connection -> connection.onDispose())
+          .bind()
+          .block();
+
+      for (int round = 0; round < ROUNDS; round++) {
+        long startTime = System.nanoTime();
+
+        List<? extends AeronConnection> connections =
+            Flux.range(0, CLIENTS)
+                .flatMap(
+                    i ->
+                        AeronClient.create(clientResources)
+                            .options(
+                                Configurations.MDC_ADDRESS,
+                                Configurations.MDC_PORT,
+                                Configurations.MDC_CONTROL_PORT)
+                            .options(options -> options.acceptorShards(shards))
+                            .connect(),
+                    CLIENTS)
+                .collectList()
+                .block();
+
+        long elapsed = System.nanoTime() - startTime;
+        System.out.printf(
+            "shards: %d, round: %d, all %d clients connected in %.1f ms%n",
+            shards, round, connections.size(), elapsed / 1e6);
+
+        Flux.fromIterable(connections)
+            .flatMap(
+                connection -> {
+                  connection.dispose();
+                  return connection.onDispose();
+                })
+            .blockLast();
+      }
+    } finally {
+      clientResources.dispose();
+      clientResources.onDispose().block();
+      serverResources.dispose();
+      serverResources.onDispose().block();
+    }
+  }
+}
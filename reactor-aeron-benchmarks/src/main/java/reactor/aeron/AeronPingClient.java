@@ -3,10 +3,6 @@ package reactor.aeron;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import org.HdrHistogram.Recorder;
-import org.agrona.BitUtil;
-import org.agrona.BufferUtil;
-import org.agrona.DirectBuffer;
-import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.console.ContinueBarrier;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
@@ -76,7 +72,7 @@ public final class AeronPingClient {
 
     Disposable disp = reporter.start();
 
-    NanoTimeGeneratorHandler handler = new NanoTimeGeneratorHandler();
+    NanoTimeHandler handler = new NanoTimeHandler();
 
     connection.outbound().send(Flux.range(0, Configurations.REQUESTED), handler).then().subscribe();
 
@@ -100,25 +96,4 @@ public final class AeronPingClient {
         .then()
         .block();
   }
-
-  private static class NanoTimeGeneratorHandler implements DirectBufferHandler<Object> {
-    private static final UnsafeBuffer OFFER_BUFFER =
-        new UnsafeBuffer(
-            BufferUtil.allocateDirectAligned(
-                Configurations.MESSAGE_LENGTH, BitUtil.CACHE_LINE_LENGTH));
-
-    @Override
-    public int estimateLength(Object ignore) {
-      return Configurations.MESSAGE_LENGTH;
-    }
-
-    @Override
-    public DirectBuffer map(Object ignore, int length) {
-      OFFER_BUFFER.putLong(0, System.nanoTime());
-      return OFFER_BUFFER;
-    }
-
-    @Override
-    public void dispose(Object ignore) {}
-  }
 }
@@ -2,6 +2,8 @@ package reactor.aeron;
 
 import io.aeron.Image;
 import io.aeron.Subscription;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import org.agrona.concurrent.BackoffIdleStrategy;
 import org.agrona.concurrent.BusySpinIdleStrategy;
 import org.agrona.concurrent.IdleStrategy;
@@ -34,6 +36,9 @@ public interface Configurations {
   int MDC_CONTROL_PORT = Integer.getInteger("reactor.aeron.sample.mdc.control.port", 13001);
   int MDC_STREAM_ID = Integer.getInteger("reactor.aeron.sample.mdc.stream.id", 0xcafe0000);
   int MDC_SESSION_ID = Integer.getInteger("reactor.aeron.sample.mdc.session.id", 1001);
+  int IPC_STREAM_ID = Integer.getInteger("reactor.aeron.sample.ipc.stream.id", 0x1000);
+  int IPC_RESPONSE_STREAM_ID =
+      Integer.getInteger("reactor.aeron.sample.ipc.response.stream.id", 0x2000);
   
   String IDLE_STRATEGY = System.getProperty("reactor.aeron.sample.idle.strategy", "busyspin");
   long REPORT_INTERVAL = Long.getLong("reactor.aeron.sample.report.interval", 1);
@@ -60,6 +65,8 @@ public interface Configurations {
    *   <li>{@link SleepingMillisIdleStrategy} - sleepingmillis/1
    *   <li>{@link YieldingIdleStrategy} - yielding
    *   <li>{@link NoOpIdleStrategy} - noop
+   *   <li>{@link AdaptiveIdleStrategy} - adaptive, or adaptive/10/100/1/1000 (spin period in
+   *       millis, yield period in millis, min and max park period in micros)
    * </ul>
    *
    * @return idle strategy, {@link BusySpinIdleStrategy} - by default
@@ -83,6 +90,14 @@ public interface Configurations {
         return new YieldingIdleStrategy();
       case "noop":
         return new NoOpIdleStrategy();
+      case "adaptive":
+        return chunks.length == 1
+            ? new AdaptiveIdleStrategy()
+            : new AdaptiveIdleStrategy(
+                Duration.ofMillis(Long.parseLong(chunks[1])),
+                Duration.ofMillis(Long.parseLong(chunks[2])),
+                Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(Long.parseLong(chunks[3]))),
+                Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(Long.parseLong(chunks[4]))));
       default:
         return new BusySpinIdleStrategy();
     }
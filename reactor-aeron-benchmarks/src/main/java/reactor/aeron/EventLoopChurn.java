@@ -0,0 +1,96 @@
+package reactor.aeron;
+
+import java.time.Duration;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures rate of registering and disposing resources on {@link AeronEventLoop} which already
+ * serves given number of resources, i.e. connect/disconnect rate during reconnect storm on a loaded
+ * event loop.
+ */
+public class EventLoopChurn {
+
+  private static final int[] CONNECTIONS = {1_000, 10_000, 50_000};
+  private static final Duration DURATION =
+      Duration.ofSeconds(Long.getLong("reactor.aeron.sample.churn.duration", 10));
+  private static final int CONCURRENCY =
+      Integer.getInteger("reactor.aeron.sample.churn.concurrency", 256);
+
+  /**
+   * Main runner.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    System.out.println(
+        "Using worker idle strategy "
+            + Configurations.idleStrategy().getClass()
+            + "("
+            + Configurations.IDLE_STRATEGY
+            + ")");
+    System.out.println("Duration of " + DURATION + ", concurrency of " + CONCURRENCY);
+
+    for (int connections : CONNECTIONS) {
+      run(connections);
+    }
+  }
+
+  private static void run(int connections) {
+    // group id makes thread (and mbean) name unique per run
+    AeronEventLoop eventLoop =
+        new AeronEventLoop("churn", 0, connections, Configurations.idleStrategy());
+    try {
+      Flux.range(0, connections)
+          .flatMap(i -> eventLoop.register(new ChurnResource(eventLoop)), CONCURRENCY)
+          .blockLast();
+
+      long startTime = System.nanoTime();
+      long deadline = startTime + DURATION.toNanos();
+
+      Long cycles =
+          Flux.<Integer>generate(
+                  sink -> {
+                    if (System.nanoTime() < deadline) {
+                      sink.next(0);
+                    } else {
+                      sink.complete();
+                    }
+                  })
+              .flatMap(
+                  i ->
+                      eventLoop
+                          .register(new ChurnResource(eventLoop))
+                          .flatMap(eventLoop::dispose)
+                          .thenReturn(i),
+                  CONCURRENCY)
+              .count()
+              .block();
+
+      double seconds = (System.nanoTime() - startTime) / 1e9;
+      System.out.printf(
+          "connections: %d, connect/disconnect: %.0f per second%n", connections, cycles / seconds);
+    } finally {
+      eventLoop.dispose();
+      eventLoop.onDispose().block();
+    }
+  }
+
+  private static class ChurnResource implements AeronResource {
+
+    private final AeronEventLoop eventLoop;
+
+    private ChurnResource(AeronEventLoop eventLoop) {
+      this.eventLoop = eventLoop;
+    }
+
+    @Override
+    public AeronEventLoop eventLoop() {
+      return eventLoop;
+    }
+
+    @Override
+    public void close() {
+      // no-op
+    }
+  }
+}
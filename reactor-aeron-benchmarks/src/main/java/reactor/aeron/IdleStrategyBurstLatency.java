@@ -0,0 +1,147 @@
+package reactor.aeron;
+
+import com.sun.management.OperatingSystemMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.HdrHistogram.Histogram;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares round trip latency and cpu usage of worker idle strategies under bursty load: client
+ * sends burst of pings to echo server, then stays quiet for a while, so that idle strategy has to
+ * wake up for every burst. Busy spin, backoff (parking right away) and {@link
+ * AdaptiveIdleStrategy} are measured one after another.
+ */
+public class IdleStrategyBurstLatency {
+
+  private static final int BURST_SIZE =
+      Integer.getInteger("reactor.aeron.sample.burst.size", 100);
+  private static final Duration BURST_INTERVAL =
+      Duration.ofMillis(Long.getLong("reactor.aeron.sample.burst.interval", 200));
+  private static final int BURSTS = Integer.getInteger("reactor.aeron.sample.bursts", 100);
+  private static final int WARMUP_BURSTS =
+      Integer.getInteger("reactor.aeron.sample.warmup.bursts", 20);
+
+  /**
+   * Main runner.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    System.out.println(
+        "Burst of "
+            + BURST_SIZE
+            + " messages every "
+            + BURST_INTERVAL
+            + ", "
+            + BURSTS
+            + " bursts, message length of "
+            + Configurations.MESSAGE_LENGTH
+            + " bytes");
+
+    Map<String, Supplier<IdleStrategy>> strategies = new LinkedHashMap<>();
+    strategies.put("busyspin", BusySpinIdleStrategy::new);
+    strategies.put("backoff/0/0/0/1", () -> new BackoffIdleStrategy(0, 0, 0, 1));
+    strategies.put("adaptive", AdaptiveIdleStrategy::new);
+
+    strategies.forEach(IdleStrategyBurstLatency::run);
+  }
+
+  private static void run(String name, Supplier<IdleStrategy> idleStrategySupplier) {
+    AeronResources resources =
+        new AeronResources()
+            .useTmpDir()
+            .pollFragmentLimit(Configurations.FRAGMENT_COUNT_LIMIT)
+            .singleWorker()
+            .workerIdleStrategySupplier(idleStrategySupplier)
+            .start()
+            .block();
+
+    try {
+      AeronServer.create(resources)
+          .options(
+              Configurations.MDC_ADDRESS,
+              Configurations.MDC_PORT,
+              Configurations.MDC_CONTROL_PORT)
+          .handle(
+              connection ->
+                  connection
+                      .outbound()
+                      .send(connection.inbound().receive())
+                      .then(connection.onDispose()))
+          .bind()
+          .block();
+
+      AeronConnection connection =
+          AeronClient.create(resources)
+              .options(
+                  Configurations.MDC_ADDRESS,
+                  Configurations.MDC_PORT,
+                  Configurations.MDC_CONTROL_PORT)
+              .connect()
+              .block();
+
+      Histogram histogram = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+      Flux<DirectBuffer> responses = connection.inbound().receive().publish().autoConnect();
+
+      bursts(connection, responses, null, WARMUP_BURSTS);
+
+      OperatingSystemMXBean osMxBean =
+          (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+      long startCpuTime = osMxBean.getProcessCpuTime();
+      long startTime = System.nanoTime();
+
+      bursts(connection, responses, histogram, BURSTS);
+
+      double cpu =
+          (double) (osMxBean.getProcessCpuTime() - startCpuTime) / (System.nanoTime() - startTime);
+
+      System.out.printf(
+          "%-16s p50: %7.1f us, p99: %7.1f us, p99.9: %7.1f us, max: %7.1f us, cpu: %.2f cores%n",
+          name,
+          histogram.getValueAtPercentile(50) / 1e3,
+          histogram.getValueAtPercentile(99) / 1e3,
+          histogram.getValueAtPercentile(99.9) / 1e3,
+          histogram.getMaxValue() / 1e3,
+          cpu);
+
+      connection.dispose();
+      connection.onDispose().block();
+    } finally {
+      resources.dispose();
+      resources.onDispose().block();
+    }
+  }
+
+  private static void bursts(
+      AeronConnection connection, Flux<DirectBuffer> responses, Histogram histogram, int bursts) {
+    NanoTimeHandler handler = new NanoTimeHandler();
+    for (int i = 0; i < bursts; i++) {
+      Mono<Void> received =
+          responses
+              .take(BURST_SIZE)
+              .doOnNext(
+                  buffer -> {
+                    if (histogram != null) {
+                      histogram.recordValue(System.nanoTime() - buffer.getLong(0));
+                    }
+                  })
+              .then()
+              .cache();
+      received.subscribe();
+
+      connection.outbound().send(Flux.range(0, BURST_SIZE), handler).then().subscribe();
+
+      received.then(Mono.delay(BURST_INTERVAL)).block();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package reactor.aeron;
+
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Encodes every element as {@link Configurations#MESSAGE_LENGTH} bytes long message starting with
+ * {@link System#nanoTime()} of the moment of sending, rest of the message is zeroed. Round trip
+ * latency is then {@code System.nanoTime() - buffer.getLong(0)} of the echoed message. Not thread
+ * safe, meant to be used by publications of the same event loop.
+ */
+final class NanoTimeHandler implements ClaimingBufferHandler<Object> {
+
+  private final UnsafeBuffer buffer =
+      new UnsafeBuffer(
+          BufferUtil.allocateDirectAligned(
+              Configurations.MESSAGE_LENGTH, BitUtil.CACHE_LINE_LENGTH));
+
+  @Override
+  public int estimateLength(Object ignore) {
+    return Configurations.MESSAGE_LENGTH;
+  }
+
+  @Override
+  public DirectBuffer map(Object ignore, int length) {
+    buffer.putLong(0, System.nanoTime());
+    return buffer;
+  }
+
+  @Override
+  public void write(Object ignore, MutableDirectBuffer dstBuffer, int offset) {
+    // claimed space may hold stale bytes, rest of the message gets zeroed
+    dstBuffer.putLong(offset, System.nanoTime());
+    dstBuffer.setMemory(offset + Long.BYTES, Configurations.MESSAGE_LENGTH - Long.BYTES, (byte) 0);
+  }
+
+  @Override
+  public void dispose(Object ignore) {}
+}
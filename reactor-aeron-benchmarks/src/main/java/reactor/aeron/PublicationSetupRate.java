@@ -0,0 +1,72 @@
+package reactor.aeron;
+
+import java.util.List;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures rate of setting up aeron publications (the part of connection setup which takes a round
+ * trip to media driver) when many of them are requested at once, e.g. during reconnect storm.
+ */
+public class PublicationSetupRate {
+
+  private static final int PUBLICATIONS =
+      Integer.getInteger("reactor.aeron.sample.setup.publications", 1000);
+  private static final int CONCURRENCY =
+      Integer.getInteger("reactor.aeron.sample.setup.concurrency", 256);
+  private static final int ROUNDS = Integer.getInteger("reactor.aeron.sample.setup.rounds", 5);
+
+  /**
+   * Main runner.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    System.out.println(
+        PUBLICATIONS + " publications, concurrency of " + CONCURRENCY + ", " + ROUNDS + " rounds");
+
+    AeronResources resources =
+        new AeronResources()
+            .useTmpDir()
+            .workerIdleStrategySupplier(Configurations::idleStrategy)
+            .start()
+            .block();
+    AeronOptions options = new AeronOptions().resources(resources);
+    String channel =
+        "aeron:udp?endpoint=" + Configurations.MDC_ADDRESS + ':' + Configurations.MDC_PORT;
+
+    try {
+      for (int round = 0; round < ROUNDS; round++) {
+        long startTime = System.nanoTime();
+
+        List<MessagePublication> publications =
+            Flux.range(0, PUBLICATIONS)
+                .flatMap(
+                    i ->
+                        resources.publication(
+                            channel,
+                            Configurations.MDC_STREAM_ID,
+                            options,
+                            resources.nextEventLoop(options.eventLoopPlacement(), i)),
+                    CONCURRENCY)
+                .collectList()
+                .block();
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf(
+            "round: %d, %d publications set up in %.1f ms, %.0f per second%n",
+            round, publications.size(), seconds * 1e3, publications.size() / seconds);
+
+        Flux.fromIterable(publications)
+            .flatMap(
+                publication -> {
+                  publication.dispose();
+                  return publication.onDispose();
+                })
+            .blockLast();
+      }
+    } finally {
+      resources.dispose();
+      resources.onDispose().block();
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package reactor.aeron;
+
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transport of connections in same-host benchmarks: udp loopback, shared memory ipc, or in-JVM
+ * loopback bypassing media driver (zero-driver baseline).
+ */
+enum TransportMode {
+  UDP {
+    @Override
+    void bind(
+        AeronResources resources,
+        Function<? super AeronConnection, ? extends Publisher<Void>> serverHandler) {
+      AeronServer.create(resources)
+          .options(
+              Configurations.MDC_ADDRESS, Configurations.MDC_PORT, Configurations.MDC_CONTROL_PORT)
+          .handle(serverHandler)
+          .bind()
+          .block();
+    }
+
+    @Override
+    Mono<? extends AeronConnection> connect(
+        AeronResources resources,
+        Function<? super AeronConnection, ? extends Publisher<Void>> serverHandler) {
+      return AeronClient.create(resources)
+          .options(
+              Configurations.MDC_ADDRESS, Configurations.MDC_PORT, Configurations.MDC_CONTROL_PORT)
+          .connect();
+    }
+  },
+
+  IPC {
+    @Override
+    void bind(
+        AeronResources resources,
+        Function<? super AeronConnection, ? extends Publisher<Void>> serverHandler) {
+      AeronServer.create(resources)
+          .ipcOptions(Configurations.IPC_STREAM_ID, Configurations.IPC_RESPONSE_STREAM_ID)
+          .handle(serverHandler)
+          .bind()
+          .block();
+    }
+
+    @Override
+    Mono<? extends AeronConnection> connect(
+        AeronResources resources,
+        Function<? super AeronConnection, ? extends Publisher<Void>> serverHandler) {
+      return AeronClient.create(resources)
+          .ipcOptions(Configurations.IPC_STREAM_ID, Configurations.IPC_RESPONSE_STREAM_ID)
+          .connect();
+    }
+  },
+
+  LOOPBACK {
+    @Override
+    void bind(
+        AeronResources resources,
+        Function<? super AeronConnection, ? extends Publisher<Void>> serverHandler) {
+      // no server, peer of every connection gets served by server handler
+    }
+
+    @Override
+    Mono<? extends AeronConnection> connect(
+        AeronResources resources,
+        Function<? super AeronConnection, ? extends Publisher<Void>> serverHandler) {
+      return AeronLoopback.create(resources).handlePeer(serverHandler).connect();
+    }
+  };
+
+  /**
+   * Binds server serving connections with given handler.
+   *
+   * @param resources aeron resources
+   * @param serverHandler server connection handler
+   */
+  abstract void bind(
+      AeronResources resources,
+      Function<? super AeronConnection, ? extends Publisher<Void>> serverHandler);
+
+  /**
+   * Connects client to the server bound by {@link #bind(AeronResources, Function)}.
+   *
+   * @param resources aeron resources
+   * @param serverHandler server connection handler, the same as given to {@code bind}
+   * @return mono handle of client connection
+   */
+  abstract Mono<? extends AeronConnection> connect(
+      AeronResources resources,
+      Function<? super AeronConnection, ? extends Publisher<Void>> serverHandler);
+}
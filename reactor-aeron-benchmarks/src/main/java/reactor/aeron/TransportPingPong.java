@@ -0,0 +1,111 @@
+package reactor.aeron;
+
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+/**
+ * Compares round trip latency of udp loopback and ipc connections between client and echo server
+ * sharing one media driver (see {@link AeronServer#ipcOptions(int, int)}), with in-JVM loopback
+ * (see {@link AeronLoopback}) as zero-driver baseline. Client keeps {@link
+ * Configurations#REQUESTED} pings in flight, every pong triggers next ping.
+ */
+public class TransportPingPong {
+
+  private static final long MESSAGES =
+      Long.getLong("reactor.aeron.sample.pingpong.messages", 1_000_000);
+  private static final long WARMUP_MESSAGES =
+      Long.getLong("reactor.aeron.sample.pingpong.warmup.messages", 100_000);
+
+  /**
+   * Main runner.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    System.out.println(
+        "Using worker idle strategy "
+            + Configurations.idleStrategy().getClass()
+            + "("
+            + Configurations.IDLE_STRATEGY
+            + ")");
+    System.out.println(
+        MESSAGES
+            + " messages, message length of "
+            + Configurations.MESSAGE_LENGTH
+            + " bytes, request "
+            + Configurations.REQUESTED);
+
+    for (TransportMode transport : TransportMode.values()) {
+      run(transport);
+    }
+  }
+
+  private static void run(TransportMode transport) {
+    AeronResources resources =
+        new AeronResources()
+            .useTmpDir()
+            .pollFragmentLimit(Configurations.FRAGMENT_COUNT_LIMIT)
+            .singleWorker()
+            .workerIdleStrategySupplier(Configurations::idleStrategy)
+            .start()
+            .block();
+
+    try {
+      transport.bind(resources, TransportPingPong::echo);
+
+      // inbound can't be resubscribed, so warmup runs on its own connection
+      roundTrips(resources, transport, null, WARMUP_MESSAGES);
+
+      Histogram histogram = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+      roundTrips(resources, transport, histogram, MESSAGES);
+
+      System.out.printf(
+          "%-8s p50: %7.1f us, p99: %7.1f us, p99.9: %7.1f us, max: %7.1f us%n",
+          transport,
+          histogram.getValueAtPercentile(50) / 1e3,
+          histogram.getValueAtPercentile(99) / 1e3,
+          histogram.getValueAtPercentile(99.9) / 1e3,
+          histogram.getMaxValue() / 1e3);
+    } finally {
+      resources.dispose();
+      resources.onDispose().block();
+    }
+  }
+
+  private static Publisher<Void> echo(AeronConnection connection) {
+    return connection
+        .outbound()
+        .send(connection.inbound().receive())
+        .then(connection.onDispose());
+  }
+
+  private static void roundTrips(
+      AeronResources resources, TransportMode transport, Histogram histogram, long count) {
+    AeronConnection connection = transport.connect(resources, TransportPingPong::echo).block();
+    NanoTimeHandler handler = new NanoTimeHandler();
+
+    connection.outbound().send(Flux.range(0, Configurations.REQUESTED), handler).then().subscribe();
+
+    connection
+        .outbound()
+        .send(
+            connection
+                .inbound()
+                .receive()
+                .take(count)
+                .doOnNext(
+                    buffer -> {
+                      if (histogram != null) {
+                        histogram.recordValue(System.nanoTime() - buffer.getLong(0));
+                      }
+                    }),
+            handler)
+        .then()
+        .block();
+
+    connection.dispose();
+    connection.onDispose().block();
+  }
+}
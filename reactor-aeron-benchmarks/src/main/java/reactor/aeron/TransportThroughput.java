@@ -0,0 +1,126 @@
+package reactor.aeron;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Compares throughput of udp loopback and ipc connections between client and server sharing one
+ * media driver (see {@link AeronServer#ipcOptions(int, int)}), with in-JVM loopback (see {@link
+ * AeronLoopback}) as zero-driver baseline: client sends messages as fast as it can, time is
+ * measured until server has received all of them.
+ */
+public class TransportThroughput {
+
+  private static final long MESSAGES =
+      Long.getLong("reactor.aeron.sample.throughput.messages", 10_000_000);
+  private static final int ROUNDS = Integer.getInteger("reactor.aeron.sample.throughput.rounds", 3);
+
+  /**
+   * Main runner.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    System.out.println(
+        "Using worker idle strategy "
+            + Configurations.idleStrategy().getClass()
+            + "("
+            + Configurations.IDLE_STRATEGY
+            + ")");
+    System.out.println(
+        MESSAGES
+            + " messages, message length of "
+            + Configurations.MESSAGE_LENGTH
+            + " bytes, "
+            + ROUNDS
+            + " rounds");
+
+    for (TransportMode transport : TransportMode.values()) {
+      run(transport);
+    }
+  }
+
+  private static void run(TransportMode transport) {
+    AeronResources resources =
+        new AeronResources()
+            .useTmpDir()
+            .pollFragmentLimit(Configurations.FRAGMENT_COUNT_LIMIT)
+            .numOfWorkers(2)
+            .workerIdleStrategySupplier(Configurations::idleStrategy)
+            .start()
+            .block();
+
+    // completed by server once it has received all messages of current round
+    AtomicReference<MonoProcessor<Void>> received = new AtomicReference<>();
+
+    Function<AeronConnection, Mono<Void>> serverHandler =
+        connection ->
+            connection
+                .inbound()
+                .receive()
+                .take(MESSAGES)
+                .then()
+                .doOnSuccess(v -> received.get().onComplete())
+                .then(connection.onDispose());
+
+    try {
+      transport.bind(resources, serverHandler);
+
+      for (int round = 0; round < ROUNDS; round++) {
+        received.set(MonoProcessor.create());
+        AeronConnection connection = transport.connect(resources, serverHandler).block();
+
+        long startTime = System.nanoTime();
+        connection
+            .outbound()
+            .send(Flux.<Integer>generate(sink -> sink.next(0)), new PayloadHandler())
+            .then()
+            .subscribe(null, th -> {});
+        received.get().block();
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf(
+            "%-8s round: %d, %.0f msg/s, %.1f MB/s%n",
+            transport,
+            round,
+            MESSAGES / seconds,
+            MESSAGES * Configurations.MESSAGE_LENGTH / seconds / (1 << 20));
+
+        connection.dispose();
+        connection.onDispose().block();
+      }
+    } finally {
+      resources.dispose();
+      resources.onDispose().block();
+    }
+  }
+
+  private static class PayloadHandler implements ClaimingBufferHandler<Integer> {
+
+    private final DirectBuffer buffer = new UnsafeBuffer(new byte[Configurations.MESSAGE_LENGTH]);
+
+    @Override
+    public int estimateLength(Integer ignore) {
+      return Configurations.MESSAGE_LENGTH;
+    }
+
+    @Override
+    public DirectBuffer map(Integer ignore, int length) {
+      return buffer;
+    }
+
+    @Override
+    public void write(Integer ignore, MutableDirectBuffer dstBuffer, int offset) {
+      // payload content doesn't matter
+    }
+
+    @Override
+    public void dispose(Integer ignore) {}
+  }
+}
@@ -0,0 +1,149 @@
+package reactor.aeron;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import org.agrona.concurrent.IdleStrategy;
+
+/**
+ * Idle strategy which adapts to observed load of event loop: it spins while work keeps coming,
+ * degrades to yielding after {@code spinPeriod} of no work, and then to parking (with exponential
+ * backoff from {@code minParkPeriod} up to {@code maxParkPeriod}) after further {@code
+ * yieldPeriod} of no work. Any work done brings it back to spinning right away.
+ *
+ * <p>So event loop reacts in sub-microsecond on steady traffic and doesn't burn a core while being
+ * quiet. Current state and number of state transitions are exposed by {@link WorkerMBean}.
+ *
+ * <p>Instance is stateful and must not be shared between event loops, supply new instance for
+ * every worker, see {@link AeronResources#workerIdleStrategySupplier}.
+ */
+public final class AdaptiveIdleStrategy implements IdleStrategy {
+
+  public static final Duration DEFAULT_SPIN_PERIOD = Duration.ofMillis(10);
+  public static final Duration DEFAULT_YIELD_PERIOD = Duration.ofMillis(100);
+  public static final Duration DEFAULT_MIN_PARK_PERIOD = Duration.ofNanos(1000);
+  public static final Duration DEFAULT_MAX_PARK_PERIOD = Duration.ofMillis(1);
+
+  enum State {
+    SPINNING,
+    YIELDING,
+    PARKING
+  }
+
+  private final long spinPeriodNs;
+  private final long quietPeriodNs; // spin period plus yield period
+  private final long minParkPeriodNs;
+  private final long maxParkPeriodNs;
+
+  private volatile State state = State.SPINNING;
+  private boolean quiet;
+  private long quietStartNs;
+  private long parkPeriodNs;
+  private long transitions;
+
+  /** Constructor with default periods. */
+  public AdaptiveIdleStrategy() {
+    this(
+        DEFAULT_SPIN_PERIOD,
+        DEFAULT_YIELD_PERIOD,
+        DEFAULT_MIN_PARK_PERIOD,
+        DEFAULT_MAX_PARK_PERIOD);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param spinPeriod period of no work after which strategy starts yielding
+   * @param yieldPeriod period of yielding after which strategy starts parking
+   * @param minParkPeriod initial park period
+   * @param maxParkPeriod max park period
+   */
+  public AdaptiveIdleStrategy(
+      Duration spinPeriod, Duration yieldPeriod, Duration minParkPeriod, Duration maxParkPeriod) {
+    if (minParkPeriod.compareTo(maxParkPeriod) > 0) {
+      throw new IllegalArgumentException("minParkPeriod must not be greater than maxParkPeriod");
+    }
+    this.spinPeriodNs = spinPeriod.toNanos();
+    this.quietPeriodNs = spinPeriodNs + yieldPeriod.toNanos();
+    this.minParkPeriodNs = Math.max(minParkPeriod.toNanos(), 1);
+    this.maxParkPeriodNs = Math.max(maxParkPeriod.toNanos(), minParkPeriodNs);
+    this.parkPeriodNs = minParkPeriodNs;
+  }
+
+  @Override
+  public void idle(int workCount) {
+    if (workCount > 0) {
+      reset();
+    } else {
+      idle();
+    }
+  }
+
+  @Override
+  public void idle() {
+    switch (state) {
+      case SPINNING:
+        if (!quiet) {
+          quiet = true;
+          quietStartNs = System.nanoTime();
+        } else if (System.nanoTime() - quietStartNs >= spinPeriodNs) {
+          transition(State.YIELDING);
+        }
+        break;
+      case YIELDING:
+        if (System.nanoTime() - quietStartNs >= quietPeriodNs) {
+          transition(State.PARKING);
+        }
+        Thread.yield();
+        break;
+      default:
+        LockSupport.parkNanos(parkPeriodNs);
+        parkPeriodNs = Math.min(parkPeriodNs << 1, maxParkPeriodNs);
+    }
+  }
+
+  @Override
+  public void reset() {
+    quiet = false;
+    parkPeriodNs = minParkPeriodNs;
+    if (state != State.SPINNING) {
+      transition(State.SPINNING);
+    }
+  }
+
+  /**
+   * Returns current state, safe to call from any thread.
+   *
+   * @return current state
+   */
+  State state() {
+    return state;
+  }
+
+  /**
+   * Returns total number of state transitions, must be called from event loop thread.
+   *
+   * @return number of state transitions
+   */
+  long transitions() {
+    return transitions;
+  }
+
+  private void transition(State state) {
+    this.state = state;
+    transitions++;
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveIdleStrategy{"
+        + "spinPeriodNs="
+        + spinPeriodNs
+        + ", quietPeriodNs="
+        + quietPeriodNs
+        + ", minParkPeriodNs="
+        + minParkPeriodNs
+        + ", maxParkPeriodNs="
+        + maxParkPeriodNs
+        + '}';
+  }
+}
@@ -9,6 +9,8 @@ import java.util.function.UnaryOperator;
  */
 public final class AeronChannelUriString {
 
+  static final String IPC_MEDIA = "ipc";
+
   /**
    * Source builder. {@link ChannelUriStringBuilder} is mutable, hence copy will be created each
    * time modification is performed on it.
@@ -66,6 +68,23 @@ public final class AeronChannelUriString {
     return new AeronChannelUriString(o.apply(builder()));
   }
 
+  /**
+   * Produces {@code aeron:ipc} channel uri, i.e. drops network related settings of this one.
+   *
+   * @return new {@code AeronChannelUriString} object
+   */
+  AeronChannelUriString ipc() {
+    return uri(
+        b ->
+            b.media(IPC_MEDIA)
+                .reliable(null)
+                .endpoint(null)
+                .controlEndpoint(null)
+                .controlMode(null)
+                .networkInterface(null)
+                .ttl(null));
+  }
+
   @Override
   public String toString() {
     return "AeronChannelUriString{" + asString() + "}";
@@ -79,6 +79,25 @@ public final class AeronClient {
             });
   }
 
+  /**
+   * Shortcut client settings for server on the same host which shares media driver with the client
+   * (same {@link AeronResources} or the same aeron directory), see {@link
+   * AeronServer#ipcOptions(int, int)}.
+   *
+   * @param streamId stream id of messages from client to server
+   * @param responseStreamId stream id of messages from server to client
+   * @return new {@code AeronClient} with applied options
+   */
+  public AeronClient ipcOptions(int streamId, int responseStreamId) {
+    return new AeronClient(options)
+        .options(
+            opts ->
+                opts.outboundUri(opts.outboundUri().ipc()) // Pub(sessionId)
+                    .inboundUri(opts.inboundUri().ipc()) // Sub(sessionId)
+                    .streamId(streamId)
+                    .responseStreamId(responseStreamId));
+  }
+
   /**
    * Attach IO handler to react on connected client.
    *
@@ -2,6 +2,7 @@ package reactor.aeron;
 
 import io.aeron.Image;
 import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
@@ -17,14 +18,17 @@ import reactor.core.publisher.MonoProcessor;
  * Client
  * serverPort->outbound->Pub(endpoint, sessionId)
  * serverControlPort->inbound->MDC(xor(sessionId))->Sub(control-endpoint, xor(sessionId))</pre>
+ *
+ * <p>Over ipc:
+ *
+ * <pre>
+ * streamId->outbound->Pub(ipc, sessionId)
+ * responseStreamId->inbound->Sub(ipc, sessionId)</pre>
  */
 final class AeronClientConnector {
 
   private static final Logger logger = LoggerFactory.getLogger(AeronClientConnector.class);
 
-  /** The stream ID that the server and client use for messages. */
-  private static final int STREAM_ID = 0xcafe0000;
-
   private final AeronOptions options;
   private final AeronResources resources;
   private final Function<? super AeronConnection, ? extends Publisher<Void>> handler;
@@ -43,18 +47,20 @@ final class AeronClientConnector {
   Mono<AeronConnection> start() {
     return Mono.defer(
         () -> {
-          AeronEventLoop eventLoop = resources.nextEventLoop();
+          AeronEventLoop eventLoop =
+              resources.nextEventLoop(
+                  options.eventLoopPlacement(), options.outboundUri().asString());
 
           return tryConnect(eventLoop)
               .flatMap(
                   publication -> {
-                    // inbound->MDC(xor(sessionId))->Sub(control-endpoint, xor(sessionId))
+                    // inbound->MDC(xor(sessionId))->Sub(control-endpoint, xor(sessionId)),
+                    // over ipc Sub(ipc, sessionId) on response stream
                     int sessionId = publication.sessionId();
+                    int inboundSessionId =
+                        options.isIpc() ? sessionId : sessionId ^ Integer.MAX_VALUE;
                     String inboundChannel =
-                        options
-                            .inboundUri()
-                            .uri(b -> b.sessionId(sessionId ^ Integer.MAX_VALUE))
-                            .asString();
+                        options.inboundUri().uri(b -> b.sessionId(inboundSessionId)).asString();
                     logger.debug(
                         "{}: creating client connection: {}",
                         Integer.toHexString(sessionId),
@@ -68,7 +74,7 @@ final class AeronClientConnector {
                     return resources
                         .subscription(
                             inboundChannel,
-                            STREAM_ID,
+                            options.responseStreamId(),
                             eventLoop,
                             image -> {
                               logger.debug(
@@ -120,7 +126,7 @@ final class AeronClientConnector {
       AeronEventLoop eventLoop) {
 
     return resources
-        .inbound(image, subscription, eventLoop)
+        .inbound(image, subscription, publication, options, eventLoop)
         .doOnError(
             ex -> {
               subscription.dispose();
@@ -143,9 +149,11 @@ final class AeronClientConnector {
           int retryCount = options.connectRetryCount();
           Duration retryInterval = options.connectTimeout();
 
-          // outbound->Pub(endpoint, sessionId)
+          // outbound->Pub(endpoint, sessionId), stream id tells server acceptor shard
           return Mono.fromCallable(this::getOutboundChannel)
-              .flatMap(channel -> resources.publication(channel, STREAM_ID, options, eventLoop))
+              .flatMap(
+                  channel ->
+                      resources.publication(channel, acceptorStreamId(), options, eventLoop))
               .flatMap(mp -> mp.ensureConnected().doOnError(ex -> mp.dispose()))
               .retryBackoff(retryCount, Duration.ZERO, retryInterval)
               .doOnError(
@@ -153,6 +161,13 @@ final class AeronClientConnector {
         });
   }
 
+  private int acceptorStreamId() {
+    int shards = options.acceptorShards();
+    return shards > 1
+        ? options.streamId() + ThreadLocalRandom.current().nextInt(shards)
+        : options.streamId();
+  }
+
   private String getOutboundChannel() {
     AeronChannelUriString outboundUri = options.outboundUri();
     Supplier<Integer> sessionIdGenerator = options.sessionIdGenerator();
@@ -2,18 +2,36 @@ package reactor.aeron;
 
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.management.StandardMBean;
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentInvoker;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.AgentTerminationException;
+import org.agrona.concurrent.CachedEpochClock;
+import org.agrona.concurrent.CachedNanoClock;
 import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 import reactor.core.publisher.MonoSink;
@@ -22,24 +40,72 @@ final class AeronEventLoop implements OnDisposable {
 
   private static final Logger logger = LoggerFactory.getLogger(AeronEventLoop.class);
 
+  private static final AtomicLongFieldUpdater<AeronEventLoop> TICKS =
+      AtomicLongFieldUpdater.newUpdater(AeronEventLoop.class, "ticks");
+  private static final AtomicReferenceFieldUpdater<AeronEventLoop, AeronResource> CURRENT =
+      AtomicReferenceFieldUpdater.newUpdater(AeronEventLoop.class, AeronResource.class, "current");
+  private static final AtomicReferenceFieldUpdater<AeronEventLoop, MessagePublication>
+      READY_PUBLICATIONS =
+          AtomicReferenceFieldUpdater.newUpdater(
+              AeronEventLoop.class, MessagePublication.class, "readyPublications");
+
+  static final int DEFAULT_COMMAND_QUEUE_CAPACITY = 16384;
+  static final int DEFAULT_COMMAND_DRAIN_LIMIT = 64;
+
+  private static final int TIMER_TICK_RESOLUTION_MS = 8; // must be power of two
+  private static final int TIMER_TICKS_PER_WHEEL = 512; // must be power of two
+  private static final int TIMER_EXPIRY_LIMIT = 64;
+
   private final IdleStrategy idleStrategy;
 
   private final String name;
   private final int workerId; // worker id
   private final int groupId; // event loop group id
+  private final boolean scanAllPublications;
+  private final int commandDrainLimit;
+  private final boolean resourceAccounting;
+
+  private final ManyToOneConcurrentArrayQueue<CommandTask> commands;
+  // disposals which didn't fit into bounded command queue, they must not be rejected
+  private final Queue<CommandTask> overflowCommands = new ConcurrentLinkedQueue<>();
+  private final ResourceArray<AeronResource> resources = new ResourceArray<>();
+  private final ResourceArray<MessagePublication> publications = new ResourceArray<>();
+  private final ResourceArray<DefaultAeronInbound> inbounds = new ResourceArray<>();
+
+  // head of intrusive list (linked by MessagePublication.nextReady) of publications which have
+  // signalled pending work, see MessagePublication.markReady(); pushed by any thread, taken as a
+  // whole by event loop, no allocation per notification
+  private volatile MessagePublication readyPublications;
+  private final ResourceArray<MessagePublication> activePublications = new ResourceArray<>();
 
-  private final Queue<CommandTask> commands = new ConcurrentLinkedQueue<>();
-  private final List<AeronResource> resources = new ArrayList<>();
+  // updated once per tick, so that hot path doesn't read system clock
+  private final CachedEpochClock epochClock = new CachedEpochClock();
+  private final CachedNanoClock nanoClock = new CachedNanoClock();
+
+  private final DeadlineTimerWheel timerWheel;
+  private final Long2ObjectHashMap<Timer> timers = new Long2ObjectHashMap<>();
+
+  // conditions being awaited (e.g. asynchronous registrations), see await()
+  private final List<Awaiter<?>> awaiters = new ArrayList<>();
 
   private final MonoProcessor<Void> dispose = MonoProcessor.create();
   private final MonoProcessor<Void> onDispose = MonoProcessor.create();
 
+  private final String threadName;
+  private final WorkerFlightRecorder flightRecorder;
+  private final Worker worker = new Worker();
+  private final AgentInvoker agentInvoker; // null if event loop runs its own thread
   private final Mono<Worker> workerMono;
 
+  private volatile AgentInvoker conductorAgentInvoker;
+  private volatile AeronEventLoop inboundEventLoop = this;
+  private volatile boolean started;
   private volatile Thread thread;
+  private volatile int connectionCount;
 
-  private List<MessagePublication> publications = new ArrayList<>();
-  private List<DefaultAeronInbound> inbounds = new ArrayList<>();
+  // progress of event loop and resource being serviced, observed by AeronEventLoopWatchdog
+  private volatile long ticks;
+  private volatile AeronResource current;
 
   /**
    * Constructor.
@@ -50,10 +116,69 @@ final class AeronEventLoop implements OnDisposable {
    * @param idleStrategy {@link IdleStrategy} instance for this event loop
    */
   AeronEventLoop(String name, int workerId, int groupId, IdleStrategy idleStrategy) {
+    this(
+        name,
+        workerId,
+        groupId,
+        idleStrategy,
+        false,
+        DEFAULT_COMMAND_QUEUE_CAPACITY,
+        DEFAULT_COMMAND_DRAIN_LIMIT,
+        false,
+        false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param name thread name
+   * @param workerId worker id
+   * @param groupId id of parent {@link AeronEventLoopGroup}
+   * @param idleStrategy {@link IdleStrategy} instance for this event loop
+   * @param scanAllPublications whether to call every publication on every tick instead of only
+   *     those which have pending work
+   * @param commandQueueCapacity capacity of command queue
+   * @param commandDrainLimit max number of commands processed per tick
+   * @param useAgentInvoker whether event loop is driven externally by {@link #agentInvoker()}
+   *     instead of running its own thread
+   * @param resourceAccounting whether to measure time spent on every resource, see {@link
+   *     #resourceUsage()}
+   */
+  AeronEventLoop(
+      String name,
+      int workerId,
+      int groupId,
+      IdleStrategy idleStrategy,
+      boolean scanAllPublications,
+      int commandQueueCapacity,
+      int commandDrainLimit,
+      boolean useAgentInvoker,
+      boolean resourceAccounting) {
     this.name = name;
     this.workerId = workerId;
     this.groupId = groupId;
     this.idleStrategy = idleStrategy;
+    this.flightRecorder =
+        new WorkerFlightRecorder(
+            idleStrategy instanceof AdaptiveIdleStrategy
+                ? (AdaptiveIdleStrategy) idleStrategy
+                : null);
+    this.scanAllPublications = scanAllPublications;
+    this.commands = new ManyToOneConcurrentArrayQueue<>(commandQueueCapacity);
+    this.commandDrainLimit = commandDrainLimit;
+    this.resourceAccounting = resourceAccounting;
+    updateClocks();
+    this.timerWheel =
+        new DeadlineTimerWheel(
+            TimeUnit.MILLISECONDS,
+            epochClock.time(),
+            TIMER_TICK_RESOLUTION_MS,
+            TIMER_TICKS_PER_WHEEL);
+    this.threadName = String.format("%s-%x-%d", name, groupId, workerId);
+    this.agentInvoker =
+        useAgentInvoker ? new AgentInvoker(AeronEventLoop::onError, null, worker) : null;
+    // externally driven worker is considered started, so that disposal waits for its duty cycle
+    this.started = useAgentInvoker;
     this.workerMono = Mono.fromCallable(this::createWorker).cache();
   }
 
@@ -67,23 +192,120 @@ final class AeronEventLoop implements OnDisposable {
     };
   }
 
-  private Worker createWorker() throws Exception {
-    final String threadName = String.format("%s-%x-%d", name, groupId, workerId);
-    final ThreadFactory threadFactory = defaultThreadFactory(threadName);
+  private static void onError(Throwable th) {
+    if (!(th instanceof AgentTerminationException)) {
+      logger.error("Uncaught exception occurred: ", th);
+    }
+  }
 
-    WorkerFlightRecorder flightRecorder = new WorkerFlightRecorder();
+  private Worker createWorker() throws Exception {
     MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
     ObjectName objectName = new ObjectName("reactor.aeron:name=" + threadName);
     StandardMBean standardMBean = new StandardMBean(flightRecorder, WorkerMBean.class);
     mbeanServer.registerMBean(standardMBean, objectName);
 
-    Worker worker = new Worker(flightRecorder);
-    thread = threadFactory.newThread(worker);
-    thread.start();
+    if (agentInvoker == null) {
+      AgentRunner agentRunner =
+          new AgentRunner(idleStrategy, AeronEventLoop::onError, null, worker);
+      AgentRunner.startOnThread(agentRunner, defaultThreadFactory(threadName));
+    }
+    started = true;
 
     return worker;
   }
 
+  /**
+   * Returns number of ticks made by this event loop so far, see {@link AeronEventLoopWatchdog}.
+   *
+   * @return number of ticks
+   */
+  long ticks() {
+    return ticks;
+  }
+
+  /**
+   * Returns whether worker of this event loop has been started, i.e. is supposed to make ticks.
+   *
+   * @return {@code true} if worker has been started
+   */
+  boolean isStarted() {
+    return thread != null;
+  }
+
+  /**
+   * Reports stall of this event loop detected by {@link AeronEventLoopWatchdog}: logs stack trace
+   * of worker thread along with connection resource being serviced, and counts the stall in {@link
+   * WorkerMBean#getStallCount()}.
+   *
+   * @param stallNs time without progress, in nanos
+   */
+  void onStall(long stallNs) {
+    flightRecorder.countStall();
+    Thread thread = this.thread;
+    if (thread == null) {
+      return;
+    }
+    AeronResource current = this.current;
+    StringBuilder stackTrace = new StringBuilder();
+    for (StackTraceElement element : thread.getStackTrace()) {
+      stackTrace.append(System.lineSeparator()).append("\tat ").append(element);
+    }
+    logger.warn(
+        "{} has made no progress for {} ms, servicing: {}, thread {} stack trace:{}",
+        this,
+        TimeUnit.NANOSECONDS.toMillis(stallNs),
+        current != null ? current : "no connection (commands or timers)",
+        thread.getName(),
+        stackTrace);
+  }
+
+  /**
+   * Returns event loop which polls inbounds of connections placed on this event loop. That's this
+   * event loop itself, unless inbound and outbound work is split between paired threads (see
+   * {@link AeronResources#splitInboundOutbound(boolean)}).
+   *
+   * @return inbound event loop
+   */
+  AeronEventLoop inboundEventLoop() {
+    return inboundEventLoop;
+  }
+
+  /**
+   * Pairs this event loop with event loop polling inbounds, must be called before any connection
+   * gets placed on this event loop.
+   *
+   * @param inboundEventLoop inbound event loop
+   */
+  void inboundEventLoop(AeronEventLoop inboundEventLoop) {
+    this.inboundEventLoop = inboundEventLoop;
+  }
+
+  /**
+   * Makes this event loop drive aeron client conductor (see {@link
+   * io.aeron.Aeron#conductorAgentInvoker()}) on its duty cycle, and starts event loop right away,
+   * so that conductor keeps servicing the driver even when there are no connections.
+   *
+   * @param conductorAgentInvoker aeron client conductor agent invoker
+   */
+  void conductorAgentInvoker(AgentInvoker conductorAgentInvoker) {
+    this.conductorAgentInvoker = conductorAgentInvoker;
+    if (!started) {
+      workerMono.subscribe(null, th -> logger.warn("Failed to start {}, cause: {}", this, th));
+    }
+  }
+
+  /**
+   * Returns {@link AgentInvoker} driving this event loop if it was created with {@code
+   * useAgentInvoker} flag, so that event loop duty cycle can be composed with other agents on the
+   * same thread. Invoker must be started and invoked on the same thread, and must be kept invoked
+   * until {@link #onDispose()} completes.
+   *
+   * @return agent invoker, or {@code null} if event loop runs its own thread
+   */
+  AgentInvoker agentInvoker() {
+    return agentInvoker;
+  }
+
   /**
    * Returns {@code true} if client called this method from within worker thread of {@link
    * AeronEventLoop}, and {@code false} otherwise.
@@ -95,6 +317,117 @@ final class AeronEventLoop implements OnDisposable {
     return thread == Thread.currentThread();
   }
 
+  /**
+   * Returns number of connections served by this event loop (as number of registered message
+   * publications, every connection has exactly one).
+   *
+   * @return number of connections
+   */
+  int connectionCount() {
+    return connectionCount;
+  }
+
+  /**
+   * Returns amount of work done by this event loop during last reporting interval, see {@link
+   * WorkerMBean#getWorkCount()}.
+   *
+   * @return amount of work, or {@code 0} if worker is not started yet
+   */
+  long workCount() {
+    return flightRecorder.getWorkCount();
+  }
+
+  /**
+   * Returns number of stalls of this event loop detected so far, see {@link
+   * WorkerMBean#getStallCount()}.
+   *
+   * @return number of stalls
+   */
+  long stallCount() {
+    return flightRecorder.getStallCount();
+  }
+
+  /**
+   * Returns number of connections moved to this event loop so far, see {@link
+   * WorkerMBean#getMigrationCount()}.
+   *
+   * @return number of connections moved in
+   */
+  long migrationCount() {
+    return flightRecorder.getMigrationCount();
+  }
+
+  /**
+   * Returns usage of resources served by this event loop during last reporting interval, sorted
+   * by time spent on them, the most expensive first.
+   *
+   * @return resource usage, or empty list if resource accounting is off
+   */
+  List<ResourceUsage> resourceUsage() {
+    return flightRecorder.resourceUsage();
+  }
+
+  /**
+   * Returns wall clock time in millis, cached at the beginning of current event loop tick.
+   *
+   * @return cached epoch time in millis
+   */
+  long epochTime() {
+    return epochClock.time();
+  }
+
+  /**
+   * Returns {@link System#nanoTime()}, cached at the beginning of current event loop tick.
+   *
+   * @return cached nano time
+   */
+  long nanoTime() {
+    return nanoClock.nanoTime();
+  }
+
+  /**
+   * Schedules task to run on this event loop after given delay. Timers are kept in a hashed timer
+   * wheel, so delay is honoured with resolution of {@link #TIMER_TICK_RESOLUTION_MS} millis. Task
+   * must not block, it runs on event loop thread.
+   *
+   * @param task task
+   * @param delay delay
+   * @param unit time unit of delay
+   * @return disposable, disposing it cancels the timer
+   * @throws java.util.concurrent.RejectedExecutionException if called outside of event loop and
+   *     event loop is disposed or its command queue is full
+   */
+  Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+    Timer timer = new Timer(task, unit.toMillis(delay));
+    if (inEventLoop()) {
+      timer.schedule();
+    } else if (!execute(timer::schedule)) {
+      timer.dispose();
+      logger.warn("Command queue of {} is full or event loop is disposed, rejected timer", this);
+      throw AeronExceptions.failWithEventLoopRejected();
+    }
+    return timer;
+  }
+
+  /**
+   * Submits task to run on this event loop, tasks run in submission order along with other
+   * commands. Starts event loop worker if needed. Task must not block, it runs on event loop
+   * thread.
+   *
+   * @param task task
+   * @return {@code true} if task was submitted, {@code false} if event loop is disposed or its
+   *     command queue is full
+   */
+  boolean execute(Runnable task) {
+    if (dispose.isDisposed()) {
+      return false;
+    }
+    if (!started) {
+      workerMono.subscribe(null, th -> logger.warn("Failed to start {}, cause: {}", this, th));
+    }
+    return commands.offer(new CommandTask(task));
+  }
+
   /**
    * Registers aeron resource in event loop.
    *
@@ -102,47 +435,205 @@ final class AeronEventLoop implements OnDisposable {
    * @return mono result
    */
   <R extends AeronResource> Mono<R> register(R resource) {
+    return worker().flatMap(worker -> command(CommandTask.REGISTER, resource, null));
+  }
+
+  /**
+   * Awaits asynchronous registration (e.g. {@link io.aeron.Aeron#asyncAddExclusivePublication})
+   * on this event loop: given poller is called once per tick until it returns registered object,
+   * so that any number of registrations may be in flight without blocking a thread per each.
+   * Object which got registered after the result had been cancelled is closed. See {@link
+   * #await(Callable, Consumer)}.
+   *
+   * @param poller returns registered object or {@code null} while registration is in progress,
+   *     throws if registration has failed
+   * @param <T> type of registered object
+   * @return mono result
+   */
+  <T extends AutoCloseable> Mono<T> awaitRegistration(Callable<T> poller) {
+    return await(poller, AeronEventLoop::closeCancelledRegistration);
+  }
+
+  /**
+   * Awaits condition on this event loop: given poller is called once per tick until it returns
+   * non-null result. Cheap alternative to polling from another thread with fixed interval, result
+   * is signalled right on the tick the condition is met.
+   *
+   * @param poller returns result or {@code null} while condition is not met, throws if awaiting
+   *     should fail
+   * @param onCancelled consumer of result obtained after cancellation, or {@code null} if polling
+   *     should just stop on cancellation
+   * @param <T> type of result
+   * @return mono result
+   */
+  <T> Mono<T> await(Callable<T> poller, Consumer<? super T> onCancelled) {
     return worker()
         .flatMap(
             worker ->
                 command(
                     sink -> {
                       if (!cancelIfDisposed(sink)) {
-                        resources.add(resource);
-                        resetOutboundAndInbound();
-                        logger.debug("Registered {}", resource);
-                        sink.success(resource);
+                        awaiters.add(new Awaiter<>(poller, onCancelled, sink));
                       }
                     }));
   }
 
+  private static void closeCancelledRegistration(AutoCloseable registered) {
+    try {
+      registered.close();
+    } catch (Exception ex) {
+      logger.warn(
+          "Failed to close cancelled registration {}, cause: {}", registered, ex.toString());
+    }
+  }
+
+  private void doRegister(AeronResource resource, MonoSink<Object> sink) {
+    if (!cancelIfDisposed(sink)) {
+      add(resource);
+      logger.debug("Registered {}", resource);
+      sink.success(resource);
+    }
+  }
+
   /**
-   * Disposes resource and remove it from event loop.
+   * Notifies event loop that given publication has pending work. Called from any thread, at most
+   * once until the publication gets idle again (see {@link MessagePublication#markReady()}).
+   *
+   * @param publication message publication
+   */
+  void onReady(MessagePublication publication) {
+    if (!scanAllPublications) {
+      // publication is in at most one list at a time: it's pushed once per markReady() which gets
+      // through, and only after event loop has taken it from the list
+      MessagePublication head;
+      do {
+        head = readyPublications;
+        publication.nextReady = head;
+      } while (!READY_PUBLICATIONS.compareAndSet(this, head, publication));
+    }
+  }
+
+  /**
+   * Returns inbounds served by this event loop at the moment. Snapshot is taken on the event loop,
+   * event loop which is not started yet has no inbounds.
    *
-   * @param resource aeron resource
    * @return mono result
    */
-  Mono<Void> dispose(AeronResource resource) {
+  Mono<List<DefaultAeronInbound>> inbounds() {
+    if (!started) {
+      return Mono.just(Collections.emptyList());
+    }
+    return worker()
+        .flatMap(
+            worker ->
+                command(
+                    sink -> {
+                      if (!cancelIfDisposed(sink)) {
+                        sink.success(inbounds.toList());
+                      }
+                    }));
+  }
+
+  /**
+   * Moves connection (given inbound together with its message publication) to the target event
+   * loop. Resources are removed from this event loop first and then registered on the target one,
+   * so the connection is never polled by both event loops and messages keep their order. Does
+   * nothing if resources have been disposed meanwhile.
+   *
+   * @param inbound inbound of the connection
+   * @param target target event loop
+   * @return mono result
+   */
+  Mono<Void> migrate(DefaultAeronInbound inbound, AeronEventLoop target) {
+    return worker()
+        .flatMap(
+            worker ->
+                command(
+                    sink -> {
+                      if (cancelIfDisposed(sink)) {
+                        return;
+                      }
+                      MessagePublication publication = inbound.publication();
+                      if (!resources.contains(inbound)
+                          || (publication != null && !resources.contains(publication))
+                          || target.dispose.isDisposed()) {
+                        sink.success();
+                        return;
+                      }
+                      List<AeronResource> migrated =
+                          publication != null
+                              ? Arrays.asList(publication, inbound)
+                              : Collections.singletonList(inbound);
+                      migrated.forEach(this::remove);
+                      // adopting command is enqueued before resources point at the target, so
+                      // any dispose forwarded to the target comes after it
+                      boolean[] rejected = new boolean[1];
+                      target
+                          .adopt(migrated)
+                          .subscribe(
+                              null,
+                              th -> {
+                                if (inEventLoop()) {
+                                  // rejected right away (e.g. full command queue), keep resources
+                                  rejected[0] = true;
+                                  migrated.forEach(this::add);
+                                }
+                                logger.warn("Failed to migrate {}, cause: {}", inbound, th);
+                                sink.error(th);
+                              },
+                              () -> {
+                                logger.debug("Migrated {} from {} to {}", inbound, this, target);
+                                sink.success();
+                              });
+                      if (!rejected[0]) {
+                        if (publication != null) {
+                          publication.eventLoop(target);
+                        }
+                        inbound.eventLoop(target);
+                      }
+                    }));
+  }
+
+  private Mono<Void> adopt(List<AeronResource> migrated) {
     return worker()
         .flatMap(
             worker ->
                 command(
                     sink -> {
-                      resources.remove(resource);
-                      resetOutboundAndInbound();
-                      logger.debug("Closing {}", resource);
-                      Mono.fromRunnable(resource::close)
-                          .subscribe(null, sink::error, sink::success);
+                      // added even if disposing, so resources get closed along with the others
+                      migrated.forEach(this::add);
+                      flightRecorder.countMigration();
+                      sink.success();
                     }));
   }
 
+  /**
+   * Disposes resource and remove it from event loop.
+   *
+   * @param resource aeron resource
+   * @return mono result
+   */
+  Mono<Void> dispose(AeronResource resource) {
+    return worker().flatMap(worker -> command(CommandTask.DISPOSE, resource, null));
+  }
+
+  private void doDispose(AeronResource resource, MonoSink<Object> sink) {
+    if (!remove(resource) && resource.eventLoop() != this) {
+      // resource has been migrated to another event loop meanwhile
+      resource.eventLoop().dispose(resource).subscribe(null, sink::error, sink::success);
+      return;
+    }
+    logger.debug("Closing {}", resource);
+    Mono.fromRunnable(resource::close).subscribe(null, sink::error, sink::success);
+  }
+
   @Override
   public void dispose() {
     // start disposing worker (if any)
     dispose.onComplete();
 
     // finish shutdown right away if no worker was created
-    if (thread == null) {
+    if (!started) {
       onDispose.onComplete();
     }
   }
@@ -152,6 +643,11 @@ final class AeronEventLoop implements OnDisposable {
     return onDispose;
   }
 
+  @Override
+  public String toString() {
+    return String.format("AeronEventLoop%x-%d", groupId, workerId);
+  }
+
   @Override
   public boolean isDisposed() {
     return onDispose.isDisposed();
@@ -162,7 +658,25 @@ final class AeronEventLoop implements OnDisposable {
   }
 
   private <T> Mono<T> command(Consumer<MonoSink<T>> consumer) {
-    return Mono.create(sink -> commands.add(new CommandTask<>(sink, consumer)));
+    return command(CommandTask.GENERIC, null, consumer);
+  }
+
+  private <T> Mono<T> command(
+      int type, AeronResource resource, Consumer<? super MonoSink<T>> consumer) {
+    return Mono.create(
+        sink -> {
+          CommandTask task = new CommandTask(type, resource, sink, consumer);
+          if (!commands.offer(task)) {
+            if (type == CommandTask.DISPOSE) {
+              // rejected disposal would leak aeron resource for good
+              logger.debug("Command queue of {} is full, enqueued overflow disposal", this);
+              overflowCommands.offer(task);
+            } else {
+              logger.warn("Command queue of {} is full, rejected command", this);
+              sink.error(AeronExceptions.failWithEventLoopOverrun());
+            }
+          }
+        });
   }
 
   private <T> Mono<T> listenUnavailable() {
@@ -172,123 +686,473 @@ final class AeronEventLoop implements OnDisposable {
   }
 
   /**
-   * Runnable task for submitting to {@link #commands} queue. For usage details see methods: {@link
-   * #register(AeronResource)} and {@link #dispose(AeronResource)}.
+   * Runnable task for submitting to {@link #commands} queue. Common commands ({@link
+   * #register(AeronResource)} and {@link #dispose(AeronResource)}) are represented by type and
+   * resource, so they don't need a capturing consumer, other commands carry a consumer. Tasks
+   * submitted by {@link #execute(Runnable)} have neither sink nor consumer.
    */
-  private static class CommandTask<T> implements Runnable {
-    private final MonoSink<T> sink;
-    private final Consumer<MonoSink<T>> consumer;
+  private class CommandTask implements Runnable {
 
-    private CommandTask(MonoSink<T> sink, Consumer<MonoSink<T>> consumer) {
-      this.sink = sink;
-      this.consumer = consumer;
+    private static final int GENERIC = 0;
+    private static final int REGISTER = 1;
+    private static final int DISPOSE = 2;
+    private static final int EXECUTE = 3;
+
+    private final int type;
+    private final AeronResource resource;
+    private final MonoSink<Object> sink;
+    private final Consumer<MonoSink<Object>> consumer;
+    private final Runnable task;
+
+    private CommandTask(Runnable task) {
+      this.type = EXECUTE;
+      this.resource = null;
+      this.sink = null;
+      this.consumer = null;
+      this.task = task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CommandTask(
+        int type, AeronResource resource, MonoSink<?> sink, Consumer<?> consumer) {
+      this.type = type;
+      this.resource = resource;
+      this.sink = (MonoSink<Object>) sink;
+      this.consumer = (Consumer<MonoSink<Object>>) consumer;
+      this.task = null;
     }
 
     @Override
     public void run() {
       try {
-        consumer.accept(sink);
+        switch (type) {
+          case REGISTER:
+            doRegister(resource, sink);
+            break;
+          case DISPOSE:
+            doDispose(resource, sink);
+            break;
+          case EXECUTE:
+            task.run();
+            break;
+          default:
+            consumer.accept(sink);
+        }
       } catch (Exception e) {
         logger.error("Exception occurred on CommandTask: ", e);
-        sink.error(e);
+        if (sink != null) {
+          sink.error(e);
+        }
+      }
+    }
+  }
+
+  private void updateClocks() {
+    epochClock.update(System.currentTimeMillis());
+    nanoClock.update(System.nanoTime());
+  }
+
+  /** Condition polled by event loop, see {@link #await(Callable, Consumer)}. */
+  private static class Awaiter<T> {
+
+    private final Callable<T> poller;
+    private final Consumer<? super T> onCancelled;
+    private final MonoSink<T> sink;
+
+    private volatile boolean cancelled;
+
+    private Awaiter(Callable<T> poller, Consumer<? super T> onCancelled, MonoSink<T> sink) {
+      this.poller = poller;
+      this.onCancelled = onCancelled;
+      this.sink = sink;
+      sink.onCancel(() -> cancelled = true);
+    }
+
+    /**
+     * Polls condition.
+     *
+     * @return {@code true} if awaiting is completed (either way), {@code false} otherwise
+     */
+    private boolean poll() {
+      boolean cancelled = this.cancelled;
+      if (cancelled && onCancelled == null) {
+        return true;
+      }
+      T result;
+      try {
+        result = poller.call();
+      } catch (Exception ex) {
+        sink.error(ex);
+        return true;
+      }
+      if (result == null) {
+        return false;
+      }
+      if (cancelled) {
+        onCancelled.accept(result);
+      } else {
+        sink.success(result);
+      }
+      return true;
+    }
+
+    private void cancel() {
+      sink.error(AeronExceptions.failWithCancel("Awaiting has been cancelled"));
+    }
+  }
+
+  /**
+   * Timer task scheduled on {@link #timerWheel}. Disposing it from event loop thread cancels the
+   * timer right away, otherwise timer is just marked disposed and gets skipped on expiry.
+   */
+  private class Timer implements Disposable {
+
+    private final Runnable task;
+    private final long delayMs;
+
+    private long timerId = DeadlineTimerWheel.NULL_DEADLINE;
+    private volatile boolean disposed;
+
+    private Timer(Runnable task, long delayMs) {
+      this.task = task;
+      this.delayMs = delayMs;
+    }
+
+    private void schedule() {
+      if (!disposed) {
+        timerId = timerWheel.scheduleTimer(epochClock.time() + delayMs);
+        timers.put(timerId, this);
       }
     }
+
+    private void run() {
+      if (!disposed) {
+        disposed = true;
+        try {
+          task.run();
+        } catch (Exception ex) {
+          logger.error("Unexpected exception occurred on timer task: ", ex);
+        }
+      }
+    }
+
+    @Override
+    public void dispose() {
+      disposed = true;
+      if (inEventLoop() && timers.remove(timerId) != null) {
+        timerWheel.cancelTimer(timerId);
+      }
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return disposed;
+    }
   }
 
   /**
-   * Runnable event loop worker.
+   * Event loop worker agent. Runs under {@link AgentRunner} on its own thread by default, or is
+   * driven externally by {@link AgentInvoker}.
    *
    * <ul>
    *   <li>runs until dispose signal obtained
-   *   <li>on run iteration makes progress on: a) commands; b) publications; c) subscriptions
-   *   <li>idles on zero progress
+   *   <li>on duty cycle makes progress on: a) commands; b) publications; c) subscriptions; d)
+   *       timers; e) aeron client conductor (if set)
    *   <li>collects and reports runtime stats
    * </ul>
    */
-  private class Worker implements Runnable {
+  private class Worker implements Agent {
 
-    private final WorkerFlightRecorder flightRecorder;
+    private boolean closed;
 
-    public Worker(WorkerFlightRecorder flightRecorder) {
-      this.flightRecorder = flightRecorder;
+    // totals of resources as of previous report, see reportResourceUsage()
+    private Map<AeronResource, long[]> lastResourceTotals = new IdentityHashMap<>();
+
+    @Override
+    public void onStart() {
+      thread = Thread.currentThread();
+      updateClocks();
+      scheduleReporting();
     }
 
     @Override
-    public void run() {
-      flightRecorder.start();
+    public int doWork() {
+      if (dispose.isDisposed()) {
+        close();
+        if (agentInvoker == null) {
+          throw new AgentTerminationException();
+        }
+        return 0;
+      }
 
-      while (!dispose.isDisposed()) {
-        flightRecorder.countTick();
+      updateClocks();
+      flightRecorder.countTick();
+      TICKS.lazySet(AeronEventLoop.this, ticks + 1);
+      // tick starts at cached clock, phases are measured only when they made progress, so that
+      // idle tick costs single System.nanoTime() call at the end
+      long tickStart = nanoClock.nanoTime();
+      long time = tickStart;
+      long now;
 
-        // Commands
-        processCommands();
+      // Commands
+      if (processCommands()) {
+        now = System.nanoTime();
+        flightRecorder.recordCommandDuration(now - time);
+        time = now;
+      }
 
-        // Outbound
-        int o = processOutbound();
-        flightRecorder.countOutbound(o);
+      // Outbound
+      int o = processOutbound();
+      flightRecorder.countOutbound(o);
+      if (o > 0) {
+        now = System.nanoTime();
+        flightRecorder.recordOutboundDuration(now - time);
+        time = now;
+      }
 
-        // Inbound
-        int i = processInbound();
-        flightRecorder.countInbound(i);
+      // Inbound
+      int i = processInbound();
+      flightRecorder.countInbound(i);
+      if (i > 0) {
+        flightRecorder.recordInboundDuration(System.nanoTime() - time);
+      }
 
-        int workCount = o + i;
-        if (workCount < 1) {
-          flightRecorder.countIdle();
-        } else {
-          flightRecorder.countWork(workCount);
-        }
+      // Timers (reporting among them)
+      int t = processTimers();
+
+      // Awaited conditions (asynchronous registrations, connects)
+      int a = processAwaiters();
 
-        // Reporting
-        flightRecorder.tryReport();
+      // Aeron client conductor
+      int c = processConductor();
 
-        idleStrategy.idle(workCount);
+      flightRecorder.recordTickDuration(System.nanoTime() - tickStart);
+
+      int workCount = o + i + t + a + c;
+      if (workCount < 1) {
+        flightRecorder.countIdle();
+      } else {
+        flightRecorder.countWork(workCount);
       }
+      return workCount;
+    }
+
+    @Override
+    public void onClose() {
+      close();
+    }
+
+    @Override
+    public String roleName() {
+      return threadName;
+    }
 
+    private void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
       // Dispose everything
       try {
-        processCommands();
+        processAllCommands();
         disposeResources();
       } finally {
         onDispose.onComplete();
       }
     }
 
+    private void scheduleReporting() {
+      schedule(
+          () -> {
+            flightRecorder.report();
+            if (resourceAccounting) {
+              reportResourceUsage();
+            }
+            scheduleReporting();
+          },
+          WorkerFlightRecorder.REPORT_INTERVAL,
+          TimeUnit.MILLISECONDS);
+    }
+
+    private int processConductor() {
+      AgentInvoker conductorAgentInvoker = AeronEventLoop.this.conductorAgentInvoker;
+      return conductorAgentInvoker != null ? conductorAgentInvoker.invoke() : 0;
+    }
+
+    private int processTimers() {
+      return timerWheel.poll(epochClock.time(), this::onTimerExpiry, TIMER_EXPIRY_LIMIT);
+    }
+
+    private boolean onTimerExpiry(TimeUnit timeUnit, long now, long timerId) {
+      Timer timer = timers.remove(timerId);
+      if (timer != null) {
+        timer.run();
+      }
+      return true;
+    }
+
+    private int processAwaiters() {
+      int result = 0;
+      // backwards, removal moves the last (already polled) element into freed slot
+      for (int i = awaiters.size() - 1; i >= 0; i--) {
+        if (awaiters.get(i).poll()) {
+          int last = awaiters.size() - 1;
+          awaiters.set(i, awaiters.get(last));
+          awaiters.remove(last);
+          result++;
+        }
+      }
+      return result;
+    }
+
     private int processInbound() {
       int result = 0;
       //noinspection ForLoopReplaceableByForEach
       for (int i = 0, n = inbounds.size(); i < n; i++) {
-        try {
-          result += inbounds.get(i).poll();
-        } catch (Exception ex) {
-          logger.error("Unexpected exception occurred on inbound.poll(): ", ex);
-        }
+        result += poll(inbounds.get(i));
       }
+      CURRENT.lazySet(AeronEventLoop.this, null);
       return result;
     }
 
     private int processOutbound() {
+      return scanAllPublications ? processAllPublications() : processActivePublications();
+    }
+
+    private int processActivePublications() {
+      MessagePublication publication = READY_PUBLICATIONS.getAndSet(AeronEventLoop.this, null);
+      while (publication != null) {
+        MessagePublication next = publication.nextReady;
+        publication.nextReady = null;
+        if (publications.contains(publication)) {
+          activePublications.add(publication);
+        } else if (publication.eventLoop() != AeronEventLoop.this) {
+          // publication has been migrated meanwhile, notify its current event loop
+          publication.eventLoop().onReady(publication);
+        }
+        publication = next;
+      }
+
+      int result = 0;
+      // backwards, so that removal (moves the last element into freed slot) doesn't skip anything
+      for (int i = activePublications.size() - 1; i >= 0; i--) {
+        publication = activePublications.get(i);
+        result += publish(publication);
+        if (publication.tryIdle()) {
+          activePublications.remove(publication);
+        }
+      }
+      CURRENT.lazySet(AeronEventLoop.this, null);
+      return result;
+    }
+
+    private int processAllPublications() {
       int result = 0;
       //noinspection ForLoopReplaceableByForEach
       for (int i = 0, n = publications.size(); i < n; i++) {
-        try {
-          result += publications.get(i).publish();
-        } catch (Exception ex) {
-          logger.error("Unexpected exception occurred on publication.publish(): ", ex);
-        }
+        result += publish(publications.get(i));
+      }
+      CURRENT.lazySet(AeronEventLoop.this, null);
+      return result;
+    }
+
+    private int poll(DefaultAeronInbound inbound) {
+      CURRENT.lazySet(AeronEventLoop.this, inbound);
+      long start = resourceAccounting ? System.nanoTime() : 0;
+      int result = 0;
+      try {
+        result = inbound.poll();
+      } catch (Exception ex) {
+        logger.error("Unexpected exception occurred on inbound.poll(): ", ex);
+      }
+      if (resourceAccounting) {
+        inbound.countCpuTime(System.nanoTime() - start);
+      }
+      return result;
+    }
+
+    private int publish(MessagePublication publication) {
+      CURRENT.lazySet(AeronEventLoop.this, publication);
+      long start = resourceAccounting ? System.nanoTime() : 0;
+      int result = 0;
+      try {
+        result = publication.publish();
+      } catch (Exception ex) {
+        logger.error("Unexpected exception occurred on publication.publish(): ", ex);
+      }
+      if (resourceAccounting) {
+        publication.countCpuTime(System.nanoTime() - start);
       }
       return result;
     }
 
-    private void processCommands() {
+    private void reportResourceUsage() {
+      Map<AeronResource, long[]> currentTotals = new IdentityHashMap<>();
+      List<ResourceUsage> usage = new ArrayList<>();
+      for (int i = 0, n = inbounds.size(); i < n; i++) {
+        DefaultAeronInbound inbound = inbounds.get(i);
+        long[] totals = {inbound.cpuTime(), inbound.workCount(), inbound.byteCount()};
+        addResourceUsage(usage, inbound, totals);
+        currentTotals.put(inbound, totals);
+      }
+      for (int i = 0, n = publications.size(); i < n; i++) {
+        MessagePublication publication = publications.get(i);
+        long[] totals = {publication.cpuTime(), publication.workCount(), publication.byteCount()};
+        addResourceUsage(usage, publication, totals);
+        currentTotals.put(publication, totals);
+      }
+      usage.sort(Comparator.comparingLong(ResourceUsage::cpuTime).reversed());
+      flightRecorder.reportResourceUsage(usage);
+      lastResourceTotals = currentTotals;
+    }
+
+    private void addResourceUsage(
+        List<ResourceUsage> usage, AeronResource resource, long[] totals) {
+      long[] last = lastResourceTotals.get(resource);
+      long cpuTime = last != null ? totals[0] - last[0] : totals[0];
+      long messages = last != null ? totals[1] - last[1] : totals[1];
+      long bytes = last != null ? totals[2] - last[2] : totals[2];
+      if (cpuTime > 0 || messages > 0) {
+        usage.add(new ResourceUsage(resource.toString(), threadName, cpuTime, messages, bytes));
+      }
+    }
+
+    private boolean processCommands() {
+      boolean overflow = processOverflowCommands();
+      int depth = commands.size();
+      if (depth > 0) {
+        flightRecorder.recordCommandQueueDepth(depth);
+        // bounded, so that burst of commands doesn't starve publications and inbounds
+        flightRecorder.countCommands(commands.drain(CommandTask::run, commandDrainLimit));
+        return true;
+      }
+      return overflow;
+    }
+
+    private boolean processOverflowCommands() {
+      if (overflowCommands.isEmpty()) {
+        return false;
+      }
       CommandTask task;
-      while ((task = commands.poll()) != null) {
+      while ((task = overflowCommands.poll()) != null) {
         task.run();
       }
+      return true;
+    }
+
+    private void processAllCommands() {
+      // drain until empty, commands may enqueue other commands
+      boolean drained;
+      do {
+        drained = commands.drain(CommandTask::run) > 0;
+        drained |= processOverflowCommands();
+      } while (drained);
     }
   }
 
   private void disposeResources() {
-    for (AeronResource resource : resources) {
+    for (int i = 0, n = resources.size(); i < n; i++) {
+      AeronResource resource = resources.get(i);
       try {
         resource.close();
       } catch (Exception ex) {
@@ -297,7 +1161,14 @@ final class AeronEventLoop implements OnDisposable {
     }
     resources.clear();
     publications.clear();
+    activePublications.clear();
     inbounds.clear();
+    timers.values().forEach(timer -> timer.disposed = true);
+    timers.clear();
+    timerWheel.clear();
+    awaiters.forEach(Awaiter::cancel);
+    awaiters.clear();
+    connectionCount = 0;
   }
 
   private boolean cancelIfDisposed(MonoSink<?> sink) {
@@ -308,15 +1179,32 @@ final class AeronEventLoop implements OnDisposable {
     return isDisposed;
   }
 
-  private void resetOutboundAndInbound() {
-    publications = filterResources(MessagePublication.class);
-    inbounds = filterResources(DefaultAeronInbound.class);
+  private void add(AeronResource resource) {
+    if (resources.add(resource)) {
+      if (resource instanceof MessagePublication) {
+        MessagePublication publication = (MessagePublication) resource;
+        publications.add(publication);
+        connectionCount = publications.size();
+        // new or migrated publication may have pending work already, gets idle otherwise
+        publication.markActive();
+        activePublications.add(publication);
+      } else if (resource instanceof DefaultAeronInbound) {
+        inbounds.add((DefaultAeronInbound) resource);
+      }
+    }
   }
 
-  private <T> List<T> filterResources(Class<T> clazz) {
-    return resources.stream()
-        .filter(clazz::isInstance)
-        .map(r -> ((T) r))
-        .collect(Collectors.toList());
+  private boolean remove(AeronResource resource) {
+    if (!resources.remove(resource)) {
+      return false;
+    }
+    if (resource instanceof MessagePublication) {
+      publications.remove((MessagePublication) resource);
+      activePublications.remove((MessagePublication) resource);
+      connectionCount = publications.size();
+    } else if (resource instanceof DefaultAeronInbound) {
+      inbounds.remove((DefaultAeronInbound) resource);
+    }
+    return true;
   }
 }
@@ -1,8 +1,14 @@
 package reactor.aeron;
 
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.agrona.concurrent.AgentInvoker;
 import org.agrona.concurrent.IdleStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,7 +17,12 @@ import reactor.core.publisher.MonoProcessor;
 
 /**
  * Wrapper around the {@link AeronEventLoop} where the actual logic is performed. Manages grouping
- * of multiple instances of {@link AeronEventLoop}: round-robin iteration and grouped disposal.
+ * of multiple instances of {@link AeronEventLoop}: placement of connections (see {@link
+ * EventLoopPlacement}) and grouped disposal.
+ *
+ * <p>In split mode every event loop is paired with inbound event loop running on a separate thread:
+ * connection placed on an event loop gets its publication serviced by the event loop itself and its
+ * inbound serviced by the paired one (see {@link AeronEventLoop#inboundEventLoop()}).
  */
 class AeronEventLoopGroup implements OnDisposable {
 
@@ -19,7 +30,8 @@ class AeronEventLoopGroup implements OnDisposable {
 
   private final int id = System.identityHashCode(this);
   private final AeronEventLoop[] eventLoops;
-  private final AtomicInteger idx = new AtomicInteger();
+  private final AeronEventLoop[] inboundEventLoops; // same as eventLoops unless split
+  private final AtomicInteger idx = new AtomicInteger(); // placement sequence of this group
 
   private final MonoProcessor<Void> dispose = MonoProcessor.create();
   private final MonoProcessor<Void> onDispose = MonoProcessor.create();
@@ -30,12 +42,52 @@ class AeronEventLoopGroup implements OnDisposable {
    * @param name thread name
    * @param numOfWorkers number of {@link AeronEventLoop} instances in the group
    * @param workerIdleStrategySupplier factory for {@link IdleStrategy} instances
+   * @param scanAllPublications see {@link AeronResources#scanAllPublications(boolean)}
+   * @param commandQueueCapacity see {@link AeronResources#commandQueueCapacity(int)}
+   * @param commandDrainLimit see {@link AeronResources#commandDrainLimit(int)}
+   * @param useAgentInvoker see {@link AeronResources#useWorkerAgentInvoker(boolean)}
+   * @param splitInboundOutbound see {@link AeronResources#splitInboundOutbound(boolean)}
+   * @param resourceAccounting see {@link AeronResources#resourceAccounting(boolean)}
    */
   AeronEventLoopGroup(
-      String name, int numOfWorkers, Supplier<IdleStrategy> workerIdleStrategySupplier) {
+      String name,
+      int numOfWorkers,
+      Supplier<IdleStrategy> workerIdleStrategySupplier,
+      boolean scanAllPublications,
+      int commandQueueCapacity,
+      int commandDrainLimit,
+      boolean useAgentInvoker,
+      boolean splitInboundOutbound,
+      boolean resourceAccounting) {
     this.eventLoops = new AeronEventLoop[numOfWorkers];
+    this.inboundEventLoops = splitInboundOutbound ? new AeronEventLoop[numOfWorkers] : eventLoops;
     for (int i = 0; i < numOfWorkers; i++) {
-      eventLoops[i] = new AeronEventLoop(name, i, id, workerIdleStrategySupplier.get());
+      eventLoops[i] =
+          new AeronEventLoop(
+              name,
+              i,
+              id,
+              workerIdleStrategySupplier.get(),
+              scanAllPublications,
+              commandQueueCapacity,
+              commandDrainLimit,
+              useAgentInvoker,
+              resourceAccounting);
+      if (splitInboundOutbound) {
+        // has its own idle strategy and flight recorder (mbean), as any other event loop
+        inboundEventLoops[i] =
+            new AeronEventLoop(
+                name + "-inbound",
+                i,
+                id,
+                workerIdleStrategySupplier.get(),
+                scanAllPublications,
+                commandQueueCapacity,
+                commandDrainLimit,
+                useAgentInvoker,
+                resourceAccounting);
+        eventLoops[i].inboundEventLoop(inboundEventLoops[i]);
+      }
     }
 
     dispose
@@ -48,18 +100,68 @@ class AeronEventLoopGroup implements OnDisposable {
   }
 
   /**
-   * Get instance of worker from the group (round-robin iteration).
+   * Get instance of worker from the group chosen by given placement strategy.
    *
+   * @param placement placement strategy
+   * @param key connection key (used by sticky placement), may be null
    * @return instance of worker in the group
    */
-  AeronEventLoop next() {
-    return eventLoops[Math.abs(idx.getAndIncrement() % eventLoops.length)];
+  AeronEventLoop next(EventLoopPlacement placement, Object key) {
+    return placement.select(eventLoops, idx.getAndIncrement(), key);
+  }
+
+  AeronEventLoop[] eventLoops() {
+    return eventLoops;
+  }
+
+  /**
+   * Returns whether event loops are paired with separate inbound event loops.
+   *
+   * @return {@code true} if inbound and outbound work is split between threads
+   */
+  boolean isSplit() {
+    return inboundEventLoops != eventLoops;
   }
 
   AeronEventLoop first() {
     return eventLoops[0];
   }
 
+  /**
+   * Makes first event loop drive aeron client conductor, see {@link
+   * AeronEventLoop#conductorAgentInvoker(AgentInvoker)}.
+   *
+   * @param conductorAgentInvoker aeron client conductor agent invoker
+   */
+  void conductorAgentInvoker(AgentInvoker conductorAgentInvoker) {
+    first().conductorAgentInvoker(conductorAgentInvoker);
+  }
+
+  /**
+   * Returns agent invokers of event loops, see {@link AeronEventLoop#agentInvoker()}.
+   *
+   * @return agent invokers, empty list if event loops run their own threads
+   */
+  List<AgentInvoker> agentInvokers() {
+    return Arrays.stream(allEventLoops())
+        .map(AeronEventLoop::agentInvoker)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns usage of resources served by event loops of the group during last reporting interval,
+   * see {@link AeronEventLoop#resourceUsage()}.
+   *
+   * @return resource usage sorted by time spent on resource, the most expensive first
+   */
+  List<ResourceUsage> resourceUsage() {
+    return Arrays.stream(allEventLoops())
+        .flatMap(eventLoop -> eventLoop.resourceUsage().stream())
+        .sorted(Comparator.comparingLong(ResourceUsage::cpuTime).reversed())
+        .collect(Collectors.toList());
+  }
+
   @Override
   public void dispose() {
     dispose.onComplete();
@@ -80,13 +182,25 @@ class AeronEventLoopGroup implements OnDisposable {
         () -> {
           logger.debug("Disposing {}", this);
           return Mono.whenDelayError(
-              Arrays.stream(eventLoops)
+              Arrays.stream(allEventLoops())
                   .peek(AeronEventLoop::dispose)
                   .map(AeronEventLoop::onDispose)
                   .toArray(Mono<?>[]::new));
         });
   }
 
+  /**
+   * Returns all event loops of the group, including inbound ones in split mode.
+   *
+   * @return all event loops
+   */
+  AeronEventLoop[] allEventLoops() {
+    return isSplit()
+        ? Stream.concat(Arrays.stream(eventLoops), Arrays.stream(inboundEventLoops))
+            .toArray(AeronEventLoop[]::new)
+        : eventLoops.clone();
+  }
+
   @Override
   public String toString() {
     return "AeronEventLoopGroup" + id;
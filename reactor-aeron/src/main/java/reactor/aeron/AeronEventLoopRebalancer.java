@@ -0,0 +1,139 @@
+package reactor.aeron;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * Periodic task which evens out load of event loops in the group by moving connections between
+ * them. Load of a connection is amount of work done on it (fragments polled plus messages
+ * published) since previous run, load of an event loop is the sum over its connections.
+ *
+ * <p>When the busiest event loop has done more than {@code threshold} times the work of the idlest
+ * one, single connection is moved from the busiest to the idlest event loop (see {@link
+ * AeronEventLoop#migrate(DefaultAeronInbound, AeronEventLoop)}). The connection is chosen so that
+ * loads of both event loops get as close as possible.
+ */
+final class AeronEventLoopRebalancer implements Runnable {
+
+  private static final Logger logger = LoggerFactory.getLogger(AeronEventLoopRebalancer.class);
+
+  // skew below this amount of work per run is not worth moving connections
+  private static final long MIN_SKEW = 1024;
+
+  private final AeronEventLoopGroup eventLoopGroup;
+  private final double threshold;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private Map<DefaultAeronInbound, Long> lastWork = new IdentityHashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param eventLoopGroup event loop group
+   * @param threshold ratio of the busiest event loop load to the idlest one to start rebalancing
+   */
+  AeronEventLoopRebalancer(AeronEventLoopGroup eventLoopGroup, double threshold) {
+    this.eventLoopGroup = eventLoopGroup;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public void run() {
+    AeronEventLoop[] eventLoops = eventLoopGroup.eventLoops();
+    if (eventLoops.length < 2 || !running.compareAndSet(false, true)) {
+      return;
+    }
+    // inbounds are collected by event loops themselves, previous run must be finished
+    Flux.fromArray(eventLoops)
+        .concatMap(AeronEventLoop::inbounds)
+        .collectList()
+        .doFinally(s -> running.set(false))
+        .subscribe(
+            inbounds -> rebalance(eventLoops, inbounds),
+            th -> logger.warn("Failed to rebalance {}, cause: {}", eventLoopGroup, th.toString()));
+  }
+
+  private void rebalance(AeronEventLoop[] eventLoops, List<List<DefaultAeronInbound>> inbounds) {
+
+    Map<DefaultAeronInbound, Long> currentWork = new IdentityHashMap<>();
+    Map<DefaultAeronInbound, Long> connectionLoads = new IdentityHashMap<>();
+    long[] loads = new long[eventLoops.length];
+    int busiest = 0;
+    int idlest = 0;
+
+    for (int i = 0; i < eventLoops.length; i++) {
+      for (DefaultAeronInbound inbound : inbounds.get(i)) {
+        MessagePublication publication = inbound.publication();
+        long work = inbound.workCount() + (publication != null ? publication.workCount() : 0);
+        Long last = lastWork.get(inbound);
+        long load = last != null ? work - last : work;
+        currentWork.put(inbound, work);
+        connectionLoads.put(inbound, load);
+        loads[i] += load;
+      }
+      if (loads[i] > loads[busiest]) {
+        busiest = i;
+      }
+      if (loads[i] < loads[idlest]) {
+        idlest = i;
+      }
+    }
+
+    lastWork = currentWork;
+
+    long skew = loads[busiest] - loads[idlest];
+    if (skew < MIN_SKEW || loads[busiest] < threshold * loads[idlest]) {
+      return;
+    }
+
+    List<DefaultAeronInbound> candidates = inbounds.get(busiest);
+    if (candidates.size() < 2) {
+      return; // moving the only connection just moves the load
+    }
+
+    DefaultAeronInbound chosen = null;
+    long bestDistance = Long.MAX_VALUE;
+    for (DefaultAeronInbound inbound : candidates) {
+      Long load = connectionLoads.get(inbound);
+      if (load == null || load <= 0 || load >= skew) {
+        continue;
+      }
+      long distance = Math.abs(skew / 2 - load);
+      if (distance < bestDistance) {
+        bestDistance = distance;
+        chosen = inbound;
+      }
+    }
+
+    if (chosen == null) {
+      return;
+    }
+
+    DefaultAeronInbound connection = chosen;
+    AeronEventLoop source = eventLoops[busiest];
+    AeronEventLoop target = eventLoops[idlest];
+
+    logger.debug(
+        "Rebalancing {}: load {} vs {}, moving {} from {} to {}",
+        eventLoopGroup,
+        loads[busiest],
+        loads[idlest],
+        connection,
+        source,
+        target);
+
+    source
+        .migrate(connection, target)
+        .subscribe(
+            null,
+            th ->
+                logger.warn(
+                    "Failed to move {} to {}, cause: {}", connection, target, th.toString()));
+  }
+}
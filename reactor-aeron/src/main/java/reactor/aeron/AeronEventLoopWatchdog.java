@@ -0,0 +1,68 @@
+package reactor.aeron;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodic task which watches progress of event loops in the group. User handlers run right on
+ * event loop threads, so a blocking handler freezes every connection served by the event loop.
+ * When event loop has made no tick for longer than {@code threshold}, the stall gets reported once
+ * (see {@link AeronEventLoop#onStall(long)}), recovery from the stall gets logged as well.
+ *
+ * <p>Supposed to be run from a separate low frequency thread, not from event loops themselves.
+ * Event loops driven by {@link AeronEventLoop#agentInvoker()} are skipped: their ticks follow
+ * invoke cadence of the caller, which is none of the watchdog's business.
+ */
+final class AeronEventLoopWatchdog implements Runnable {
+
+  private static final Logger logger = LoggerFactory.getLogger(AeronEventLoopWatchdog.class);
+
+  private final AeronEventLoop[] eventLoops;
+  private final long thresholdNs;
+
+  private final long[] lastTicks;
+  private final long[] lastProgressNs;
+  private final boolean[] stalled;
+
+  /**
+   * Constructor.
+   *
+   * @param eventLoopGroup event loop group
+   * @param threshold time without progress considered as stall
+   */
+  AeronEventLoopWatchdog(AeronEventLoopGroup eventLoopGroup, Duration threshold) {
+    this.eventLoops = eventLoopGroup.allEventLoops();
+    this.thresholdNs = threshold.toNanos();
+    this.lastTicks = new long[eventLoops.length];
+    this.lastProgressNs = new long[eventLoops.length];
+    this.stalled = new boolean[eventLoops.length];
+  }
+
+  @Override
+  public void run() {
+    long now = System.nanoTime();
+    for (int i = 0; i < eventLoops.length; i++) {
+      AeronEventLoop eventLoop = eventLoops[i];
+      long ticks = eventLoop.ticks();
+      if (!eventLoop.isStarted()
+          || eventLoop.isDisposed()
+          || eventLoop.agentInvoker() != null
+          || ticks != lastTicks[i]) {
+        if (stalled[i]) {
+          stalled[i] = false;
+          logger.info(
+              "{} has resumed after {} ms without progress",
+              eventLoop,
+              TimeUnit.NANOSECONDS.toMillis(now - lastProgressNs[i]));
+        }
+        lastTicks[i] = ticks;
+        lastProgressNs[i] = now;
+      } else if (!stalled[i] && now - lastProgressNs[i] >= thresholdNs) {
+        stalled[i] = true;
+        eventLoop.onStall(now - lastProgressNs[i]);
+      }
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package reactor.aeron;
 
+import java.util.concurrent.RejectedExecutionException;
+
 class AeronExceptions {
 
   private AeronExceptions() {
@@ -14,6 +16,15 @@ class AeronExceptions {
     return new AeronEventLoopException("AeronEventLoop is unavailable");
   }
 
+  static RuntimeException failWithEventLoopOverrun() {
+    return new AeronEventLoopException("AeronEventLoop command queue is full");
+  }
+
+  static RejectedExecutionException failWithEventLoopRejected() {
+    return new RejectedExecutionException(
+        "AeronEventLoop is disposed or its command queue is full");
+  }
+
   static RuntimeException failWithPublication(String message) {
     return new AeronPublicationException(message);
   }
@@ -1,6 +1,19 @@
 package reactor.aeron;
 
+import reactor.core.publisher.Flux;
+
 public interface AeronInbound {
 
   DirectBufferFlux receive();
+
+  /**
+   * Returns flux of message batches, one batch holds all messages received by one poll of aeron
+   * image. Demand is counted in batches rather than messages. The emitted {@link
+   * DirectBufferBatch} is reused, its content is valid only during {@code onNext}.
+   *
+   * <p>Only one of {@link #receive()} or {@link #receiveBatches()} could be subscribed.
+   *
+   * @return flux of message batches
+   */
+  Flux<DirectBufferBatch> receiveBatches();
 }
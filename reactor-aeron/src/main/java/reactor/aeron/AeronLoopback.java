@@ -0,0 +1,94 @@
+package reactor.aeron;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-JVM loopback transport: connects two {@link AeronConnection} ends living in the same JVM
+ * through a pair of shared memory ring buffers (see {@link LoopbackChannel}), bypassing media
+ * driver. Both ends are served by event loops of {@link AeronResources} the same way as aeron
+ * connections are, outbound backpressure and timeout options apply as is. Suits in-process
+ * pipelines and serves as zero-driver baseline in benchmarks.
+ *
+ * <p>Connecting end is returned by {@link #connect()} (like {@link AeronClient} does), its peer is
+ * handed over to the handler set by {@link #handlePeer(Function)} (like {@link AeronServer} does).
+ * Disposing either end disposes the other one.
+ */
+public final class AeronLoopback {
+
+  private final AeronOptions options;
+  private final Function<? super AeronConnection, ? extends Publisher<Void>> peerHandler;
+
+  private AeronLoopback(
+      AeronOptions options,
+      Function<? super AeronConnection, ? extends Publisher<Void>> peerHandler) {
+    this.options = options;
+    this.peerHandler = peerHandler;
+  }
+
+  /**
+   * Creates {@link AeronLoopback}.
+   *
+   * @param resources aeron resources
+   * @return new {@code AeronLoopback}
+   */
+  public static AeronLoopback create(AeronResources resources) {
+    return new AeronLoopback(new AeronOptions().resources(resources), null);
+  }
+
+  /**
+   * Connects {@link AeronLoopback}.
+   *
+   * @return mono handle of result
+   */
+  public Mono<? extends AeronConnection> connect() {
+    return connect(s -> s);
+  }
+
+  /**
+   * Connects {@link AeronLoopback} with options.
+   *
+   * @param op unary opearator for performing setup of options
+   * @return mono handle of result
+   */
+  public Mono<? extends AeronConnection> connect(UnaryOperator<AeronOptions> op) {
+    return Mono.defer(() -> new LoopbackConnector(op.apply(options), peerHandler).start());
+  }
+
+  /**
+   * Setting up {@link AeronLoopback} options, they apply to both ends. Channel and stream options
+   * are irrelevant, see {@link AeronOptions#loopbackCapacity(int)} instead.
+   *
+   * @param op unary opearator for performing setup of options
+   * @return new {@code AeronLoopback} with applied options
+   */
+  public AeronLoopback options(UnaryOperator<AeronOptions> op) {
+    return new AeronLoopback(op.apply(options), peerHandler);
+  }
+
+  /**
+   * Attach IO handler to react on connected end.
+   *
+   * @param handler IO handler that can dispose underlying connection when {@link Publisher}
+   *     terminates.
+   * @return new {@code AeronLoopback} with handler
+   */
+  public AeronLoopback handle(
+      Function<? super AeronConnection, ? extends Publisher<Void>> handler) {
+    return new AeronLoopback(options.handler(handler), peerHandler);
+  }
+
+  /**
+   * Attach IO handler to react on peer of connected end.
+   *
+   * @param handler IO handler that can dispose underlying connection when {@link Publisher}
+   *     terminates.
+   * @return new {@code AeronLoopback} with peer handler
+   */
+  public AeronLoopback handlePeer(
+      Function<? super AeronConnection, ? extends Publisher<Void>> handler) {
+    return new AeronLoopback(options, handler);
+  }
+}
@@ -13,6 +13,9 @@ import org.reactivestreams.Publisher;
  */
 public final class AeronOptions {
 
+  /** The stream ID that the server and client use for messages by default. */
+  static final int DEFAULT_STREAM_ID = 0xcafe0000;
+
   private AeronResources resources;
   private Function<? super AeronConnection, ? extends Publisher<Void>> handler;
   private AeronChannelUriString inboundUri = new AeronChannelUriString();
@@ -21,6 +24,15 @@ public final class AeronOptions {
   private int connectRetryCount = 3;
   private Duration backpressureTimeout = Duration.ofSeconds(5);
   private Duration adminActionTimeout = Duration.ofSeconds(5);
+  private int outboundPrefetch = 1;
+  private boolean outboundCoalescing = false;
+  private Duration outboundCoalescingLinger = Duration.ZERO;
+  private boolean flyweightInbound = false;
+  private EventLoopPlacement eventLoopPlacement = EventLoopPlacement.roundRobin();
+  private int streamId = DEFAULT_STREAM_ID;
+  private int responseStreamId = DEFAULT_STREAM_ID;
+  private int acceptorShards = 1;
+  private int loopbackCapacity = 256 * 1024;
   private Supplier<Integer> sessionIdGenerator = new SecureRandomSessionIdGenerator();
 
   public AeronOptions() {}
@@ -35,6 +47,15 @@ public final class AeronOptions {
     this.adminActionTimeout = other.adminActionTimeout;
     this.sessionIdGenerator = other.sessionIdGenerator;
     this.connectRetryCount = other.connectRetryCount;
+    this.outboundPrefetch = other.outboundPrefetch;
+    this.outboundCoalescing = other.outboundCoalescing;
+    this.outboundCoalescingLinger = other.outboundCoalescingLinger;
+    this.flyweightInbound = other.flyweightInbound;
+    this.eventLoopPlacement = other.eventLoopPlacement;
+    this.streamId = other.streamId;
+    this.responseStreamId = other.responseStreamId;
+    this.acceptorShards = other.acceptorShards;
+    this.loopbackCapacity = other.loopbackCapacity;
   }
 
   public AeronResources resources() {
@@ -102,6 +123,172 @@ public final class AeronOptions {
     return set(s -> s.adminActionTimeout = adminActionTimeout);
   }
 
+  public int outboundPrefetch() {
+    return outboundPrefetch;
+  }
+
+  /**
+   * Setting number of elements each outbound publisher is asked for at once. Requested elements
+   * are queued (bounded by this value) and drained into aeron publication by event loop on every
+   * tick. Default is {@code 1}, i.e. next element is requested only after previous one was
+   * published.
+   *
+   * @param outboundPrefetch number of elements to request from outbound publisher
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions outboundPrefetch(int outboundPrefetch) {
+    if (outboundPrefetch < 1) {
+      throw new IllegalArgumentException("outboundPrefetch must be positive: " + outboundPrefetch);
+    }
+    return set(s -> s.outboundPrefetch = outboundPrefetch);
+  }
+
+  public boolean outboundCoalescing() {
+    return outboundCoalescing;
+  }
+
+  /**
+   * Setting whether several pending outbound messages may be packed into one aeron frame (up to
+   * max payload length of the frame). Coalescing comes into effect only after the peer proved it's
+   * able to unpack such frames by marking its first frame (see {@link MessageFrames}), legacy
+   * peers keep receiving one message per frame. Makes sense together with {@link
+   * #outboundPrefetch(int)} bigger than {@code 1}.
+   *
+   * @param outboundCoalescing coalescing flag
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions outboundCoalescing(boolean outboundCoalescing) {
+    return set(s -> s.outboundCoalescing = outboundCoalescing);
+  }
+
+  public Duration outboundCoalescingLinger() {
+    return outboundCoalescingLinger;
+  }
+
+  /**
+   * Setting how long not yet full batch frame may wait for more messages before being sent. Zero
+   * (default) means only messages which are already pending get packed together.
+   *
+   * @param outboundCoalescingLinger linger duration, microseconds resolution makes sense here
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions outboundCoalescingLinger(Duration outboundCoalescingLinger) {
+    return set(s -> s.outboundCoalescingLinger = outboundCoalescingLinger);
+  }
+
+  public boolean flyweightInbound() {
+    return flyweightInbound;
+  }
+
+  /**
+   * Setting zero-allocation receive mode. Inbound emits one reused flyweight {@link
+   * org.agrona.DirectBuffer} which is valid only during {@code onNext}, consumers that need to keep
+   * the data must copy it, see {@link DirectBufferFlux#retain()}.
+   *
+   * @param flyweightInbound flyweight inbound flag
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions flyweightInbound(boolean flyweightInbound) {
+    return set(s -> s.flyweightInbound = flyweightInbound);
+  }
+
+  public EventLoopPlacement eventLoopPlacement() {
+    return eventLoopPlacement;
+  }
+
+  /**
+   * Setting strategy of choosing event loop for new connections, by default {@link
+   * EventLoopPlacement#roundRobin()}.
+   *
+   * @param eventLoopPlacement event loop placement
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions eventLoopPlacement(EventLoopPlacement eventLoopPlacement) {
+    return set(s -> s.eventLoopPlacement = eventLoopPlacement);
+  }
+
+  public int streamId() {
+    return streamId;
+  }
+
+  /**
+   * Setting stream id of messages from client to server. Must be the same on server and its
+   * clients.
+   *
+   * @param streamId stream id
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions streamId(int streamId) {
+    return set(s -> s.streamId = streamId);
+  }
+
+  public int responseStreamId() {
+    return responseStreamId;
+  }
+
+  /**
+   * Setting stream id of messages from server to client. Over udp it may be the same as {@link
+   * #streamId(int)} since directions use different endpoints, over ipc it must differ from stream
+   * id and from other acceptor stream ids (see {@link #acceptorShards(int)}). Must be the same on
+   * server and its clients.
+   *
+   * @param responseStreamId response stream id
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions responseStreamId(int responseStreamId) {
+    return set(s -> s.responseStreamId = responseStreamId);
+  }
+
+  public int acceptorShards() {
+    return acceptorShards;
+  }
+
+  /**
+   * Setting number of server acceptor shards, {@code 1} by default. Server binds one acceptor
+   * subscription per shard on stream ids {@code streamId .. streamId + acceptorShards - 1}, shards
+   * are spread over event loops which set up connections accepted by them. Client connects to a
+   * randomly chosen shard, so it must not have more shards than the server; unsharded client always
+   * connects to the first shard.
+   *
+   * @param acceptorShards number of acceptor shards
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions acceptorShards(int acceptorShards) {
+    if (acceptorShards < 1) {
+      throw new IllegalArgumentException("acceptorShards must be positive: " + acceptorShards);
+    }
+    return set(s -> s.acceptorShards = acceptorShards);
+  }
+
+  /**
+   * Returns whether connection runs over shared memory ({@code aeron:ipc}) instead of network.
+   *
+   * @return {@code true} if connection runs over ipc
+   */
+  boolean isIpc() {
+    return AeronChannelUriString.IPC_MEDIA.equals(outboundUri.builder().media());
+  }
+
+  public int loopbackCapacity() {
+    return loopbackCapacity;
+  }
+
+  /**
+   * Setting capacity of ring buffer per direction of in-JVM loopback connection (see {@link
+   * AeronLoopback}). Single message may take up to 1/8 of capacity, sending of a longer one fails
+   * with error while connection stays open.
+   *
+   * @param loopbackCapacity ring buffer capacity in bytes, power of two
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions loopbackCapacity(int loopbackCapacity) {
+    if (loopbackCapacity <= 0 || Integer.bitCount(loopbackCapacity) != 1) {
+      throw new IllegalArgumentException(
+          "loopbackCapacity must be power of two: " + loopbackCapacity);
+    }
+    return set(s -> s.loopbackCapacity = loopbackCapacity);
+  }
+
   public Supplier<Integer> sessionIdGenerator() {
     return sessionIdGenerator;
   }
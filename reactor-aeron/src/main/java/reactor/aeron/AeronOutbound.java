@@ -14,7 +14,8 @@ public interface AeronOutbound extends Publisher<Void> {
    *
    * @param <B> abstract buffer type (comes from client code)
    * @param dataStream the dataStream publishing items to send
-   * @param bufferHandler abstract buffer handler for {@link DirectBuffer} buffer
+   * @param bufferHandler abstract buffer handler for {@link DirectBuffer} buffer, pass {@link
+   *     ClaimingBufferHandler} to encode small messages directly into aeron term buffer
    * @return A new {@link AeronOutbound} to append further send. It will emit a complete signal upon
    *     successful sequence write or an error during write.
    */
@@ -2,5 +2,12 @@ package reactor.aeron;
 
 interface AeronResource {
 
+  /**
+   * Returns event loop which currently owns this resource.
+   *
+   * @return event loop
+   */
+  AeronEventLoop eventLoop();
+
   void close();
 }
@@ -9,13 +9,17 @@ import io.aeron.driver.MediaDriver;
 import java.io.File;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import org.agrona.CloseHelper;
 import org.agrona.IoUtil;
+import org.agrona.concurrent.AgentInvoker;
 import org.agrona.concurrent.BackoffIdleStrategy;
 import org.agrona.concurrent.IdleStrategy;
 import org.slf4j.Logger;
@@ -53,6 +57,16 @@ public final class AeronResources implements OnDisposable {
 
   private Supplier<IdleStrategy> workerIdleStrategySupplier = defaultBackoffIdleStrategySupplier;
 
+  private boolean scanAllPublications = false;
+  private int commandQueueCapacity = AeronEventLoop.DEFAULT_COMMAND_QUEUE_CAPACITY;
+  private int commandDrainLimit = AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT;
+  private boolean useWorkerAgentInvoker = false;
+  private boolean splitInboundOutbound = false;
+  private boolean resourceAccounting = false;
+  private Duration rebalanceInterval;
+  private double rebalanceThreshold = 2.0;
+  private Duration stallThreshold = Duration.ofSeconds(1);
+
   // State
   private Aeron aeron;
   private MediaDriver mediaDriver;
@@ -102,6 +116,15 @@ public final class AeronResources implements OnDisposable {
     this.pollFragmentLimit = that.pollFragmentLimit;
     this.numOfWorkers = that.numOfWorkers;
     this.workerIdleStrategySupplier = that.workerIdleStrategySupplier;
+    this.scanAllPublications = that.scanAllPublications;
+    this.commandQueueCapacity = that.commandQueueCapacity;
+    this.commandDrainLimit = that.commandDrainLimit;
+    this.useWorkerAgentInvoker = that.useWorkerAgentInvoker;
+    this.splitInboundOutbound = that.splitInboundOutbound;
+    this.resourceAccounting = that.resourceAccounting;
+    this.rebalanceInterval = that.rebalanceInterval;
+    this.rebalanceThreshold = that.rebalanceThreshold;
+    this.stallThreshold = that.stallThreshold;
     copy(ac);
     copy(mdc);
   }
@@ -275,6 +298,196 @@ public final class AeronResources implements OnDisposable {
     return c;
   }
 
+  /**
+   * Setting whether worker thread(s) should call every publication on every tick. By default only
+   * publications which have pending work (new messages, back pressured or lingering ones) are
+   * visited, which matters when most of connections are idle.
+   *
+   * @param scanAllPublications scan all publications flag
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources scanAllPublications(boolean scanAllPublications) {
+    AeronResources c = copy();
+    c.scanAllPublications = scanAllPublications;
+    return c;
+  }
+
+  /**
+   * Setting capacity of command queue (resource registration, disposal, etc.) of worker thread(s).
+   * Commands submitted to full queue fail.
+   *
+   * @param commandQueueCapacity command queue capacity
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources commandQueueCapacity(int commandQueueCapacity) {
+    if (commandQueueCapacity < 1) {
+      throw new IllegalArgumentException("commandQueueCapacity must be positive");
+    }
+    AeronResources c = copy();
+    c.commandQueueCapacity = commandQueueCapacity;
+    return c;
+  }
+
+  /**
+   * Setting max number of commands processed by worker thread per tick, so that burst of
+   * connection setup doesn't starve sending and receiving.
+   *
+   * @param commandDrainLimit max number of commands per tick
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources commandDrainLimit(int commandDrainLimit) {
+    if (commandDrainLimit < 1) {
+      throw new IllegalArgumentException("commandDrainLimit must be positive");
+    }
+    AeronResources c = copy();
+    c.commandDrainLimit = commandDrainLimit;
+    return c;
+  }
+
+  /**
+   * Setting whether aeron client conductor should be driven by (first) worker thread instead of
+   * running its own thread, see {@link Aeron.Context#useConductorAgentInvoker(boolean)}. Saves one
+   * busy thread and cross-thread wakeups on image and publication setup, best suited for single
+   * worker setup. Note that available and unavailable image handlers get called on worker thread
+   * then.
+   *
+   * @param useConductorAgentInvoker use conductor agent invoker flag
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources useConductorAgentInvoker(boolean useConductorAgentInvoker) {
+    return aeron(ac -> ac.useConductorAgentInvoker(useConductorAgentInvoker));
+  }
+
+  /**
+   * Setting whether inbound and outbound work should be split between paired threads. When set,
+   * every worker gets paired inbound worker: connection publication is serviced by the worker and
+   * its inbound (image polling) is serviced by the paired inbound worker, so that large inbound
+   * poll doesn't delay outbound offers and the reverse. Each of them is still owned by a single
+   * thread. Inbound workers have their own idle strategies (see {@link
+   * #workerIdleStrategySupplier(Supplier)}) and flight recorders. Doubles the number of worker
+   * threads, rebalancing (see {@link #rebalanceInterval(Duration)}) is not supported in this mode.
+   *
+   * @param splitInboundOutbound split inbound and outbound flag
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources splitInboundOutbound(boolean splitInboundOutbound) {
+    AeronResources c = copy();
+    c.splitInboundOutbound = splitInboundOutbound;
+    return c;
+  }
+
+  /**
+   * Setting whether worker(s) should be driven externally instead of running their own threads.
+   * When set, each worker is exposed as {@link AgentInvoker} (see {@link #workerAgentInvokers()})
+   * whose agent can be composed with other agents (e.g. by {@link
+   * org.agrona.concurrent.CompositeAgent}) on a thread owned by application. Worker idle strategy
+   * is not used in this case, idling is up to the duty cycle of application.
+   *
+   * @param useWorkerAgentInvoker use worker agent invoker flag
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources useWorkerAgentInvoker(boolean useWorkerAgentInvoker) {
+    AeronResources c = copy();
+    c.useWorkerAgentInvoker = useWorkerAgentInvoker;
+    return c;
+  }
+
+  /**
+   * Returns invokers of worker agents, see {@link #useWorkerAgentInvoker(boolean)}. Invoker must
+   * be started and invoked on the same thread, and must be kept invoked until {@link #onDispose()}
+   * completes, as worker releases its resources on its duty cycle.
+   *
+   * @return worker agent invokers, empty list if workers run their own threads or resources are
+   *     not started
+   */
+  public List<AgentInvoker> workerAgentInvokers() {
+    AeronEventLoopGroup eventLoopGroup = this.eventLoopGroup;
+    return eventLoopGroup != null ? eventLoopGroup.agentInvokers() : Collections.emptyList();
+  }
+
+  /**
+   * Setting whether worker(s) should account time spent on every connection resource (inbound
+   * image polling, including user handlers run on worker, and publication offers) along with
+   * number of messages and bytes. Off by default, costs two {@code System.nanoTime()} calls per
+   * resource per tick. Once per second the most expensive resources of a worker get exposed via
+   * {@link WorkerMBean#getTopResources()}, see also {@link #topResources(int)}.
+   *
+   * @param resourceAccounting resource accounting flag
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources resourceAccounting(boolean resourceAccounting) {
+    AeronResources c = copy();
+    c.resourceAccounting = resourceAccounting;
+    return c;
+  }
+
+  /**
+   * Returns the most expensive resources across all workers during last second, see {@link
+   * #resourceAccounting(boolean)}.
+   *
+   * @param n max number of resources to return
+   * @return resource usage sorted by time spent on resource, the most expensive first; empty list
+   *     if resource accounting is off or resources are not started
+   */
+  public List<ResourceUsage> topResources(int n) {
+    AeronEventLoopGroup eventLoopGroup = this.eventLoopGroup;
+    if (eventLoopGroup == null) {
+      return Collections.emptyList();
+    }
+    List<ResourceUsage> resourceUsage = eventLoopGroup.resourceUsage();
+    return resourceUsage.subList(0, Math.min(n, resourceUsage.size()));
+  }
+
+  /**
+   * Setting interval of rebalancing connections between worker threads. Disabled by default.
+   * Rebalancing moves a connection from the busiest worker to the idlest one when their loads
+   * differ more than {@link #rebalanceThreshold(double)} times.
+   *
+   * @param rebalanceInterval rebalance interval
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources rebalanceInterval(Duration rebalanceInterval) {
+    AeronResources c = copy();
+    c.rebalanceInterval = rebalanceInterval;
+    return c;
+  }
+
+  /**
+   * Setting ratio of the busiest worker load to the idlest worker load which triggers rebalancing,
+   * {@code 2.0} by default. See {@link #rebalanceInterval(Duration)}.
+   *
+   * @param rebalanceThreshold rebalance threshold, must be greater than {@code 1.0}
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources rebalanceThreshold(double rebalanceThreshold) {
+    if (rebalanceThreshold <= 1.0) {
+      throw new IllegalArgumentException("rebalanceThreshold must be greater than 1.0");
+    }
+    AeronResources c = copy();
+    c.rebalanceThreshold = rebalanceThreshold;
+    return c;
+  }
+
+  /**
+   * Setting threshold of worker stall detection, one second by default. Worker thread which has
+   * made no progress for longer than that (e.g. blocked by user handler run on it) gets reported:
+   * its stack trace along with connection being serviced are logged and the stall is counted in
+   * {@link WorkerMBean#getStallCount()}. Workers are checked from a separate thread twice per
+   * threshold. Workers driven by agent invoker (see {@link #useWorkerAgentInvoker(boolean)}) are
+   * not checked.
+   *
+   * @param stallThreshold stall threshold, {@code null} disables stall detection
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources stallThreshold(Duration stallThreshold) {
+    if (stallThreshold != null && (stallThreshold.isNegative() || stallThreshold.isZero())) {
+      throw new IllegalArgumentException("stallThreshold must be positive");
+    }
+    AeronResources c = copy();
+    c.stallThreshold = stallThreshold;
+    return c;
+  }
+
   /**
    * Starting up this resources instance if not started already.
    *
@@ -298,7 +511,40 @@ public final class AeronResources implements OnDisposable {
           aeron = Aeron.connect(aeronContext);
 
           eventLoopGroup =
-              new AeronEventLoopGroup("reactor-aeron", numOfWorkers, workerIdleStrategySupplier);
+              new AeronEventLoopGroup(
+                  "reactor-aeron",
+                  numOfWorkers,
+                  workerIdleStrategySupplier,
+                  scanAllPublications,
+                  commandQueueCapacity,
+                  commandDrainLimit,
+                  useWorkerAgentInvoker,
+                  splitInboundOutbound,
+                  resourceAccounting);
+
+          if (aeronContext.useConductorAgentInvoker()) {
+            eventLoopGroup.conductorAgentInvoker(aeron.conductorAgentInvoker());
+          }
+
+          if (rebalanceInterval != null && splitInboundOutbound) {
+            logger.warn("{} rebalancing is not supported along with split workers", this);
+          } else if (rebalanceInterval != null && numOfWorkers > 1) {
+            long interval = rebalanceInterval.toMillis();
+            scheduler.schedulePeriodically(
+                new AeronEventLoopRebalancer(eventLoopGroup, rebalanceThreshold),
+                interval,
+                interval,
+                TimeUnit.MILLISECONDS);
+          }
+
+          if (stallThreshold != null) {
+            long interval = Math.max(stallThreshold.toMillis() / 2, 1);
+            scheduler.schedulePeriodically(
+                new AeronEventLoopWatchdog(eventLoopGroup, stallThreshold),
+                interval,
+                interval,
+                TimeUnit.MILLISECONDS);
+          }
 
           Runtime.getRuntime()
               .addShutdownHook(
@@ -312,21 +558,45 @@ public final class AeronResources implements OnDisposable {
   }
 
   /**
-   * Shortcut method for {@code eventLoopGroup.next()}.
+   * Returns {@link Scheduler} running tasks on the event loop thread serving given connection,
+   * i.e. on the thread which offers to its publication (and polls its image, unless inbound and
+   * outbound are split, see {@link #splitInboundOutbound(boolean)}). Handlers which {@code
+   * publishOn} such scheduler need no cross-thread handoff when sending. Scheduler follows
+   * connection moved to another event loop (see {@link #rebalanceInterval(Duration)}). Tasks must
+   * not block, scheduling throws {@link java.util.concurrent.RejectedExecutionException} once
+   * event loop is disposed or its command queue is full.
    *
+   * @param connection aeron connection created by these resources
+   * @return scheduler of connection event loop
+   */
+  public Scheduler eventLoopScheduler(AeronConnection connection) {
+    if (!(connection instanceof DuplexAeronConnection)) {
+      throw new IllegalArgumentException("Unsupported connection: " + connection);
+    }
+    return new EventLoopScheduler(((DuplexAeronConnection) connection)::eventLoop);
+  }
+
+  /**
+   * Shortcut method for {@code eventLoopGroup.next(placement, key)}.
+   *
+   * @param placement placement strategy
+   * @param key connection key, may be null
    * @return {@code AeronEventLoop} instance
    */
-  AeronEventLoop nextEventLoop() {
-    return eventLoopGroup.next();
+  AeronEventLoop nextEventLoop(EventLoopPlacement placement, Object key) {
+    return eventLoopGroup.next(placement, key);
   }
 
   /**
-   * Returns already used first event loop. See {@code eventLoopGroup.first()}.
+   * Returns event loop owning server acceptor subscription of given shard, shards are spread over
+   * event loops starting from the first one. See {@link AeronOptions#acceptorShards(int)}.
    *
+   * @param shard acceptor shard
    * @return {@code AeronEventLoop} instance
    */
-  AeronEventLoop firstEventLoop() {
-    return eventLoopGroup.first();
+  AeronEventLoop acceptorEventLoop(int shard) {
+    AeronEventLoop[] eventLoops = eventLoopGroup.eventLoops();
+    return eventLoops[shard % eventLoops.length];
   }
 
   /**
@@ -334,24 +604,68 @@ public final class AeronResources implements OnDisposable {
    *
    * @param image aeron image
    * @param subscription subscription
-   * @param eventLoop aeron event lopop
+   * @param publication message publication of the same connection
+   * @param options aeron options
+   * @param eventLoop aeron event loop of the connection, inbound gets registered on its inbound
+   *     event loop (see {@link AeronEventLoop#inboundEventLoop()})
    * @return mono result
    */
   Mono<DefaultAeronInbound> inbound(
-      Image image, MessageSubscription subscription, AeronEventLoop eventLoop) {
+      Image image,
+      MessageSubscription subscription,
+      MessagePublication publication,
+      AeronOptions options,
+      AeronEventLoop eventLoop) {
     return Mono.defer(
         () -> {
-          DefaultAeronInbound inbound =
-              new DefaultAeronInbound(image, eventLoop, subscription, pollFragmentLimit);
-          return eventLoop
-              .register(inbound)
-              .doOnError(
-                  ex ->
-                      logger.error(
-                          "{} failed on registerInbound(), cause: {}", this, ex.toString()));
+          AeronEventLoop inboundEventLoop = eventLoop.inboundEventLoop();
+          return registerInbound(
+              new DefaultAeronInbound(
+                  image,
+                  inboundEventLoop,
+                  subscription,
+                  publication,
+                  pollFragmentLimit,
+                  options.flyweightInbound()));
         });
   }
 
+  /**
+   * Creates and registers {@link DefaultAeronInbound} reading from in-JVM loopback channel.
+   *
+   * @param loopback loopback channel
+   * @param publication message publication of the same connection
+   * @param options aeron options
+   * @param eventLoop aeron event loop of the connection, inbound gets registered on its inbound
+   *     event loop (see {@link AeronEventLoop#inboundEventLoop()})
+   * @return mono result
+   */
+  Mono<DefaultAeronInbound> inbound(
+      LoopbackChannel loopback,
+      MessagePublication publication,
+      AeronOptions options,
+      AeronEventLoop eventLoop) {
+    return Mono.defer(
+        () -> {
+          AeronEventLoop inboundEventLoop = eventLoop.inboundEventLoop();
+          return registerInbound(
+              new DefaultAeronInbound(
+                  loopback,
+                  inboundEventLoop,
+                  publication,
+                  pollFragmentLimit,
+                  options.flyweightInbound()));
+        });
+  }
+
+  private Mono<DefaultAeronInbound> registerInbound(DefaultAeronInbound inbound) {
+    return inbound
+        .eventLoop()
+        .register(inbound)
+        .doOnError(
+            ex -> logger.error("{} failed on registerInbound(), cause: {}", this, ex.toString()));
+  }
+
   /**
    * Creates aeron {@link ExclusivePublication} then wraps it into {@link MessagePublication}.
    * Result message publication will be assigned to event loop.
@@ -366,8 +680,7 @@ public final class AeronResources implements OnDisposable {
       String channel, int streamId, AeronOptions options, AeronEventLoop eventLoop) {
     return Mono.defer(
         () ->
-            aeronPublication(channel, streamId)
-                .subscribeOn(scheduler)
+            aeronPublication(channel, streamId, eventLoop)
                 .doOnError(
                     ex ->
                         logger.error(
@@ -391,19 +704,55 @@ public final class AeronResources implements OnDisposable {
                                 })));
   }
 
-  private Mono<Publication> aeronPublication(String channel, int streamId) {
-    return Mono.fromCallable(
+  /**
+   * Wraps in-JVM loopback channel into {@link MessagePublication}. Result message publication will
+   * be assigned to event loop.
+   *
+   * @param loopback loopback channel
+   * @param options aeron options
+   * @param eventLoop aeron event loop
+   * @return mono result
+   */
+  Mono<MessagePublication> publication(
+      LoopbackChannel loopback, AeronOptions options, AeronEventLoop eventLoop) {
+    return Mono.defer(
+        () ->
+            eventLoop
+                .register(new MessagePublication(loopback, options, eventLoop))
+                .doOnError(
+                    ex -> {
+                      logger.error(
+                          "{} failed on registerPublication(), cause: {}", this, ex.toString());
+                      loopback.close();
+                    }));
+  }
+
+  private Mono<Publication> aeronPublication(
+      String channel, int streamId, AeronEventLoop eventLoop) {
+    return Mono.defer(
         () -> {
           logger.debug("Adding aeron.Publication for channel {}", channel);
           long startTime = System.nanoTime();
 
-          Publication publication = aeron.addExclusivePublication(channel, streamId);
-
-          long endTime = System.nanoTime();
-          long spent = Duration.ofNanos(endTime - startTime).toNanos();
-          logger.debug("Added aeron.Publication for channel {}, spent: {} ns", channel, spent);
-
-          return publication;
+          // issued by event loop on its first poll rather than by the caller, which may be aeron
+          // client conductor (image callbacks); driver response is awaited on event loop, so many
+          // registrations may be in flight. Registration id never leaves the awaiter, so that
+          // publication registered after cancellation still gets closed
+          long[] registrationId = {Aeron.NULL_VALUE};
+          return eventLoop
+              .<Publication>awaitRegistration(
+                  () -> {
+                    if (registrationId[0] == Aeron.NULL_VALUE) {
+                      registrationId[0] = aeron.asyncAddExclusivePublication(channel, streamId);
+                    }
+                    return aeron.getExclusivePublication(registrationId[0]);
+                  })
+              .doOnSuccess(
+                  publication -> {
+                    long spent = System.nanoTime() - startTime;
+                    logger.debug(
+                        "Added aeron.Publication for channel {}, spent: {} ns", channel, spent);
+                  });
         });
   }
 
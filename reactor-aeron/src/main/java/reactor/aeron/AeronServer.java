@@ -82,6 +82,29 @@ public final class AeronServer {
             });
   }
 
+  /**
+   * Shortcut server settings for clients on the same host which share media driver with the server
+   * (same {@link AeronResources} or the same aeron directory). Connections run over shared memory
+   * ({@code aeron:ipc}), bypassing udp stack and media driver sender/receiver.
+   *
+   * <p>Clients publish to {@code streamId}, server responds on {@code responseStreamId}, a
+   * connection is identified by session id of client publication on both streams. Stream ids play
+   * role of port here, so different servers on one media driver must use different ones.
+   *
+   * @param streamId stream id of messages from client to server
+   * @param responseStreamId stream id of messages from server to client
+   * @return new {@code AeronServer} with applied options
+   */
+  public AeronServer ipcOptions(int streamId, int responseStreamId) {
+    return new AeronServer(options)
+        .options(
+            opts ->
+                opts.inboundUri(opts.inboundUri().ipc()) // Sub
+                    .outboundUri(opts.outboundUri().ipc()) // Pub(sessionId)
+                    .streamId(streamId)
+                    .responseStreamId(responseStreamId));
+  }
+
   /**
    * Attach IO handler to react on connected client.
    *
@@ -4,12 +4,13 @@ import io.aeron.Image;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 
@@ -18,24 +19,29 @@ import reactor.core.publisher.MonoProcessor;
  *
  * <pre>
  * Server
- * serverPort->inbound->Sub(endpoint, acceptor[onImageAvailable, onImageUnavailbe])
- * + onImageAvailable(Image)
+ * serverPort->inbound->Sub(endpoint, acceptor[onImageAvailable, onImageUnavailbe]) per shard
+ * + onImageAvailable(Image) on event loop of the shard
  * sessionId->inbound->EmitterPocessor
  * serverControlPort->outbound->MDC(xor(sessionId))->Pub(control-endpoint, xor(sessionId))
  * </pre>
+ *
+ * <p>Over ipc there are no endpoints, directions are told apart by stream ids instead:
+ *
+ * <pre>
+ * streamId->inbound->Sub(ipc, acceptor[onImageAvailable, onImageUnavailbe]) per shard
+ * responseStreamId->outbound->Pub(ipc, sessionId)
+ * </pre>
  */
 final class AeronServerHandler implements OnDisposable {
 
   private static final Logger logger = LoggerFactory.getLogger(AeronServerHandler.class);
 
-  /** The stream ID that the server and client use for messages. */
-  private static final int STREAM_ID = 0xcafe0000;
-
   private final AeronOptions options;
   private final AeronResources resources;
   private final Function<? super AeronConnection, ? extends Publisher<Void>> handler;
 
-  private volatile MessageSubscription acceptorSubscription; // server acceptor subscription
+  // server acceptor subscriptions, one per shard
+  private final List<MessageSubscription> acceptorSubscriptions = new CopyOnWriteArrayList<>();
 
   private final Map<Integer, MonoProcessor<Void>> disposeHooks = new ConcurrentHashMap<>();
 
@@ -62,17 +68,33 @@ final class AeronServerHandler implements OnDisposable {
           // Sub(endpoint{address:serverPort})
           String acceptorChannel = options.inboundUri().asString();
 
-          logger.debug("Starting {} on: {}", this, acceptorChannel);
-
-          return resources
-              .subscription(
-                  acceptorChannel,
-                  STREAM_ID,
-                  resources.firstEventLoop(),
-                  this::onImageAvailable,
-                  this::onImageUnavailable)
-              .doOnSuccess(s -> this.acceptorSubscription = s)
-              .thenReturn(this)
+          int shards = options.acceptorShards();
+
+          if (options.isIpc()
+              && options.responseStreamId() - options.streamId() >= 0
+              && options.responseStreamId() - options.streamId() < shards) {
+            dispose();
+            return Mono.error(
+                new IllegalArgumentException(
+                    "responseStreamId must differ from acceptor stream ids over ipc"));
+          }
+
+          logger.debug("Starting {} on: {}, shards: {}", this, acceptorChannel, shards);
+
+          // stream id tells the shard, shards are owned by different event loops
+          return Flux.range(0, shards)
+              .concatMap(
+                  shard -> {
+                    AeronEventLoop eventLoop = resources.acceptorEventLoop(shard);
+                    return resources.subscription(
+                        acceptorChannel,
+                        options.streamId() + shard,
+                        eventLoop,
+                        image -> onImageAvailable(eventLoop, image),
+                        this::onImageUnavailable);
+                  })
+              .doOnNext(acceptorSubscriptions::add)
+              .then(Mono.just(this))
               .doOnSuccess(handler -> logger.debug("Started {} on: {}", this, acceptorChannel))
               .doOnError(
                   ex -> {
@@ -82,6 +104,24 @@ final class AeronServerHandler implements OnDisposable {
         });
   }
 
+  /**
+   * Hands new image over from aeron client conductor thread to event loop of the acceptor shard,
+   * so that connection setup of different shards runs in parallel. Set up right away if the event
+   * loop rejects the task.
+   *
+   * @param eventLoop event loop of the acceptor shard
+   * @param image source image
+   */
+  private void onImageAvailable(AeronEventLoop eventLoop, Image image) {
+    if (!eventLoop.execute(() -> setUpConnection(image))) {
+      logger.debug(
+          "{}: {} rejected connection setup, running it in place",
+          Integer.toHexString(image.sessionId()),
+          eventLoop);
+      setUpConnection(image);
+    }
+  }
+
   /**
    * Setting up new {@link AeronConnection} identified by {@link Image#sessionId()}. Specifically
    * creates Multi Destination Cast (MDC) message publication (aeron {@link io.aeron.Publication}
@@ -90,23 +130,26 @@ final class AeronServerHandler implements OnDisposable {
    *
    * @param image source image
    */
-  private void onImageAvailable(Image image) {
-    // Pub(control-endpoint{address:serverControlPort}, xor(sessionId))->MDC(xor(sessionId))
+  private void setUpConnection(Image image) {
+    // Pub(control-endpoint{address:serverControlPort}, xor(sessionId))->MDC(xor(sessionId)),
+    // over ipc Pub(ipc, sessionId) on response stream
     int sessionId = image.sessionId();
+    int outboundSessionId = options.isIpc() ? sessionId : sessionId ^ Integer.MAX_VALUE;
     String outboundChannel =
-        options.outboundUri().uri(b -> b.sessionId(sessionId ^ Integer.MAX_VALUE)).asString();
+        options.outboundUri().uri(b -> b.sessionId(outboundSessionId)).asString();
 
     logger.debug(
         "{}: creating server connection: {}", Integer.toHexString(sessionId), outboundChannel);
 
-    AeronEventLoop eventLoop = resources.nextEventLoop();
+    AeronEventLoop eventLoop =
+        resources.nextEventLoop(options.eventLoopPlacement(), sourceHost(image));
 
     resources
-        .publication(outboundChannel, STREAM_ID, options, eventLoop)
+        .publication(outboundChannel, options.responseStreamId(), options, eventLoop)
         .flatMap(
             publication ->
                 resources
-                    .inbound(image, null /*subscription*/, eventLoop)
+                    .inbound(image, null /*subscription*/, publication, options, eventLoop)
                     .doOnError(ex -> publication.dispose())
                     .flatMap(inbound -> newConnection(sessionId, publication, inbound)))
         .doOnSuccess(
@@ -124,6 +167,13 @@ final class AeronServerHandler implements OnDisposable {
                     ex.toString()));
   }
 
+  private static String sourceHost(Image image) {
+    // source identity is address:port of the client, port is ephemeral
+    String sourceIdentity = image.sourceIdentity();
+    int index = sourceIdentity.lastIndexOf(':');
+    return index > 0 ? sourceIdentity.substring(0, index) : sourceIdentity;
+  }
+
   private Mono<? extends AeronConnection> newConnection(
       int sessionId, MessagePublication publication, DefaultAeronInbound inbound) {
     // setup cleanup hook to use it onwards
@@ -180,11 +230,10 @@ final class AeronServerHandler implements OnDisposable {
           logger.debug("Disposing {}", this);
           List<Mono<Void>> monos = new ArrayList<>();
 
-          // dispose server acceptor subscription
-          monos.add(
-              Optional.ofNullable(acceptorSubscription)
-                  .map(s -> Mono.fromRunnable(s::dispose).then(s.onDispose()))
-                  .orElse(Mono.empty()));
+          // dispose server acceptor subscriptions
+          acceptorSubscriptions.stream()
+              .map(s -> Mono.fromRunnable(s::dispose).then(s.onDispose()))
+              .forEach(monos::add);
 
           // dispose all existing connections
           disposeHooks.values().stream().peek(MonoProcessor::onComplete).forEach(monos::add);
@@ -0,0 +1,42 @@
+package reactor.aeron;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Buffer handler which is able to encode abstract buffer directly into aeron term buffer. For
+ * messages that fit into single frame {@link MessagePublication} claims the space in the log
+ * buffer (see {@link io.aeron.Publication#tryClaim(int, io.aeron.logbuffer.BufferClaim)}) and
+ * calls {@link #write(Object, MutableDirectBuffer, int)}, so neither staging buffer nor extra copy
+ * is needed. Larger messages fall back to {@link #map(Object, int)}.
+ *
+ * @param <B> abstract buffer type (comes from client code)
+ */
+public interface ClaimingBufferHandler<B> extends DirectBufferHandler<B> {
+
+  /**
+   * Writes exactly {@link #estimateLength(Object)} bytes of the given buffer into destination
+   * buffer starting at the given offset.
+   *
+   * @param buffer abstract buffer
+   * @param dstBuffer destination buffer
+   * @param offset offset in destination buffer
+   */
+  void write(B buffer, MutableDirectBuffer dstBuffer, int offset);
+
+  /**
+   * Fallback for messages which don't fit into single frame, encodes buffer into newly allocated
+   * {@link UnsafeBuffer} with help of {@link #write(Object, MutableDirectBuffer, int)}.
+   *
+   * @param buffer abstract buffer
+   * @param length length of the buffer, see {@link #estimateLength(Object)}
+   * @return direct buffer
+   */
+  @Override
+  default DirectBuffer map(B buffer, int length) {
+    UnsafeBuffer dstBuffer = new UnsafeBuffer(new byte[length]);
+    write(buffer, dstBuffer, 0);
+    return dstBuffer;
+  }
+}
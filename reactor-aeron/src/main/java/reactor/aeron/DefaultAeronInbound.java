@@ -1,12 +1,18 @@
 package reactor.aeron;
 
 import io.aeron.Image;
+import io.aeron.ImageControlledFragmentAssembler;
 import io.aeron.ImageFragmentAssembler;
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
 import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.Header;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.MessageHandler;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
@@ -28,21 +34,40 @@ final class DefaultAeronInbound implements AeronInbound, AeronResource {
           AtomicReferenceFieldUpdater.newUpdater(
               DefaultAeronInbound.class, CoreSubscriber.class, "destinationSubscriber");
 
-  private static final CoreSubscriber<? super DirectBuffer> CANCELLED_SUBSCRIBER =
-      new CancelledSubscriber();
+  private static final CoreSubscriber<Object> CANCELLED_SUBSCRIBER = new CancelledSubscriber();
 
   private final int fragmentLimit;
   private final Image image;
-  private final AeronEventLoop eventLoop;
-  private final FluxReceive inbound = new FluxReceive();
+  private final LoopbackChannel loopback; // set instead of image on loopback connection
+  private final int sessionId;
+  private volatile AeronEventLoop eventLoop;
+  private final FluxReceive<DirectBuffer> inbound = new FluxReceive<>(false);
+  private final FluxReceive<DirectBufferBatch> inboundBatches = new FluxReceive<>(true);
+  private final DirectBufferBatch batch = new DirectBufferBatch();
   private final FragmentHandler fragmentHandler =
       new ImageFragmentAssembler(new FragmentHandlerImpl());
+  private final ControlledFragmentHandler controlledFragmentHandler =
+      new ImageControlledFragmentAssembler(new ControlledFragmentHandlerImpl());
+  private final MessageHandler loopbackHandler = this::onLoopbackFrame;
+  private final ControlledFragmentHandler probeHandler = this::onProbeFragment;
   private final MessageSubscription subscription;
+  private final MessagePublication publication;
+  private final UnsafeBuffer flyweight;
 
   private volatile long requested;
   private volatile boolean fastpath;
+  private long demand;
   private long produced;
-  private volatile CoreSubscriber<? super DirectBuffer> destinationSubscriber;
+  // first frame of the peer has been seen, see MessageFrames
+  private boolean peerProbed;
+  // approximate, written by event loop only
+  private long workCount;
+  private long byteCount;
+  private long cpuTime;
+  // messages of the head batch frame already emitted before demand got exhausted
+  private int batchSkip;
+  private volatile boolean batches;
+  private volatile CoreSubscriber<Object> destinationSubscriber;
 
   /**
    * Constructor.
@@ -50,14 +75,72 @@ final class DefaultAeronInbound implements AeronInbound, AeronResource {
    * @param image image
    * @param eventLoop event loop
    * @param subscription subscription
+   * @param publication message publication of the same connection, notified whether peer is able
+   *     to unpack batch frames
    * @param fragmentLimit fragment limit
+   * @param flyweight whether to emit one reused buffer instead of new buffer per message
    */
   DefaultAeronInbound(
-      Image image, AeronEventLoop eventLoop, MessageSubscription subscription, int fragmentLimit) {
+      Image image,
+      AeronEventLoop eventLoop,
+      MessageSubscription subscription,
+      MessagePublication publication,
+      int fragmentLimit,
+      boolean flyweight) {
+    this(
+        image,
+        null,
+        image.sessionId(),
+        eventLoop,
+        subscription,
+        publication,
+        fragmentLimit,
+        flyweight);
+  }
+
+  /**
+   * Constructor of loopback connection inbound.
+   *
+   * @param loopback loopback channel to read from
+   * @param eventLoop event loop
+   * @param publication message publication of the same connection
+   * @param fragmentLimit fragment limit
+   * @param flyweight whether to emit one reused buffer instead of new buffer per message
+   */
+  DefaultAeronInbound(
+      LoopbackChannel loopback,
+      AeronEventLoop eventLoop,
+      MessagePublication publication,
+      int fragmentLimit,
+      boolean flyweight) {
+    this(
+        null,
+        loopback,
+        loopback.sessionId(),
+        eventLoop,
+        null,
+        publication,
+        fragmentLimit,
+        flyweight);
+  }
+
+  private DefaultAeronInbound(
+      Image image,
+      LoopbackChannel loopback,
+      int sessionId,
+      AeronEventLoop eventLoop,
+      MessageSubscription subscription,
+      MessagePublication publication,
+      int fragmentLimit,
+      boolean flyweight) {
     this.image = image;
+    this.loopback = loopback;
+    this.sessionId = sessionId;
     this.eventLoop = eventLoop;
     this.subscription = subscription;
+    this.publication = publication;
     this.fragmentLimit = fragmentLimit;
+    this.flyweight = flyweight ? new UnsafeBuffer(0, 0) : null;
   }
 
   @Override
@@ -65,25 +148,227 @@ final class DefaultAeronInbound implements AeronInbound, AeronResource {
     return new DirectBufferFlux(inbound);
   }
 
+  @Override
+  public Flux<DirectBufferBatch> receiveBatches() {
+    return inboundBatches;
+  }
+
   int poll() {
     if (destinationSubscriber == CANCELLED_SUBSCRIBER) {
       return 0;
     }
-    if (fastpath) {
-      return image.poll(fragmentHandler, fragmentLimit);
+    boolean fastpath = this.fastpath;
+    demand = fastpath ? Long.MAX_VALUE : requested;
+    if (demand == 0 && !peerProbed && image != null && publication != null) {
+      // peer's first frame needs a reply even if nobody reads this inbound (e.g. server push)
+      image.controlledPoll(probeHandler, 1);
+    }
+    if (batches) {
+      int fragments = pollBatch();
+      workCount += fragments;
+      return fragments;
     }
-    int r = (int) Math.min(requested, fragmentLimit);
     int fragments = 0;
-    if (r > 0) {
-      fragments = image.poll(fragmentHandler, r);
-      if (produced > 0) {
+    if (fastpath) {
+      fragments =
+          loopback != null
+              ? loopback.read(loopbackHandler, fragmentLimit)
+              : image.poll(fragmentHandler, fragmentLimit);
+    } else {
+      // controlled poll stops exactly where demand gets exhausted, rest stays in the image;
+      // loopback frames are never batched, so reading no more frames than demand is enough
+      int r = (int) Math.min(demand, fragmentLimit);
+      if (r > 0) {
+        fragments =
+            loopback != null
+                ? loopback.read(loopbackHandler, r)
+                : image.controlledPoll(controlledFragmentHandler, r);
+      }
+    }
+    if (produced > 0) {
+      if (!fastpath) {
         Operators.produced(REQUESTED, this, produced);
-        produced = 0;
+      }
+      produced = 0;
+    }
+    workCount += fragments;
+    return fragments;
+  }
+
+  private int pollBatch() {
+    if (demand == 0) {
+      return 0;
+    }
+    // demand is counted in batches, messages within the batch are not limited
+    demand = Long.MAX_VALUE;
+    int fragments =
+        loopback != null
+            ? loopback.read(loopbackHandler, fragmentLimit)
+            : image.poll(fragmentHandler, fragmentLimit);
+    if (!batch.isEmpty()) {
+      destinationSubscriber.onNext(batch);
+      batch.clear();
+      if (!fastpath) {
+        Operators.produced(REQUESTED, this, 1);
       }
     }
     return fragments;
   }
 
+  private Action onFragment(DirectBuffer buffer, int offset, int length, Header header) {
+    if (produced >= demand) {
+      return Action.ABORT;
+    }
+
+    long reservedValue = header.reservedValue();
+    if (!peerProbed) {
+      onFirstFrame(reservedValue);
+    }
+    if (MessageFrames.isSetup(reservedValue)) {
+      return Action.CONTINUE;
+    }
+
+    if (MessageFrames.isBatch(reservedValue)) {
+      return onBatch(buffer, offset, length);
+    }
+
+    byte unfragmented = FrameDescriptor.UNFRAGMENTED;
+    if (batches && (header.flags() & unfragmented) != unfragmented) {
+      // message reassembled from fragments lives in assembler's buffer which gets reused
+      batch.addCopy(buffer, offset, length);
+      return Action.CONTINUE;
+    }
+
+    onMessage(buffer, offset, length);
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Looks at the head frame of the image without demand: setup frame gets consumed, any other
+   * frame stays in the image for regular poll.
+   */
+  private Action onProbeFragment(DirectBuffer buffer, int offset, int length, Header header) {
+    long reservedValue = header.reservedValue();
+    onFirstFrame(reservedValue);
+    return MessageFrames.isSetup(reservedValue) ? Action.CONTINUE : Action.ABORT;
+  }
+
+  private void onFirstFrame(long reservedValue) {
+    peerProbed = true;
+    if (publication != null && MessageFrames.isMarked(reservedValue)) {
+      publication.onPeerMarked();
+    }
+  }
+
+  private void onLoopbackFrame(int msgTypeId, MutableDirectBuffer buffer, int offset, int length) {
+    byteCount += length;
+    if (batches) {
+      // space of loopback frames gets reclaimed before the batch is emitted
+      batch.addCopy(buffer, offset, length);
+      return;
+    }
+    if (flyweight == null) {
+      // unlike aeron term, loopback frame space gets reused right after the read, while new
+      // buffer per message is expected to stay intact for a while (e.g. queued for echo)
+      UnsafeBuffer copy = new UnsafeBuffer(new byte[length]);
+      buffer.getBytes(offset, copy, 0, length);
+      onMessage(copy, 0, length);
+      return;
+    }
+    onMessage(buffer, offset, length);
+  }
+
+  private void onMessage(DirectBuffer buffer, int offset, int length) {
+    if (batches) {
+      batch.add(buffer, offset, length);
+      return;
+    }
+
+    produced++;
+
+    CoreSubscriber<Object> destination = this.destinationSubscriber;
+
+    if (flyweight != null) {
+      flyweight.wrap(buffer, offset, length);
+      destination.onNext(flyweight);
+    } else {
+      destination.onNext(new UnsafeBuffer(buffer, offset, length));
+    }
+  }
+
+  private Action onBatch(DirectBuffer buffer, int offset, int length) {
+    int limit = offset + length;
+    int index = offset;
+    int count = 0;
+    while (index < limit) {
+      int messageLength = buffer.getInt(index);
+      index += MessageFrames.LENGTH_FIELD_LENGTH;
+      if (count >= batchSkip) {
+        if (produced >= demand) {
+          // aborted frame is delivered again on next poll, emitted messages get skipped
+          batchSkip = count;
+          return Action.ABORT;
+        }
+        onMessage(buffer, index, messageLength);
+      }
+      count++;
+      index += messageLength;
+    }
+    batchSkip = 0;
+    return Action.CONTINUE;
+  }
+
+  MessagePublication publication() {
+    return publication;
+  }
+
+  @Override
+  public AeronEventLoop eventLoop() {
+    return eventLoop;
+  }
+
+  /**
+   * Moves this inbound to another event loop, see {@link AeronEventLoop#migrate}.
+   *
+   * @param eventLoop new owner event loop
+   */
+  void eventLoop(AeronEventLoop eventLoop) {
+    this.eventLoop = eventLoop;
+  }
+
+  /**
+   * Returns total number of fragments polled so far. Approximate when called outside of event
+   * loop.
+   *
+   * @return total number of fragments polled
+   */
+  long workCount() {
+    return workCount;
+  }
+
+  /**
+   * Returns total number of bytes polled so far. Approximate when called outside of event loop.
+   *
+   * @return total number of bytes polled
+   */
+  long byteCount() {
+    return byteCount;
+  }
+
+  /**
+   * Returns total time event loop has spent in {@link #poll()} so far, counted only when resource
+   * accounting is on. Approximate when called outside of event loop.
+   *
+   * @return total time spent in polling, in nanos
+   */
+  long cpuTime() {
+    return cpuTime;
+  }
+
+  void countCpuTime(long nanos) {
+    cpuTime += nanos;
+  }
+
   @Override
   public void close() {
     if (!eventLoop.inEventLoop()) {
@@ -104,22 +389,46 @@ final class DefaultAeronInbound implements AeronInbound, AeronResource {
     if (subscription != null) {
       subscription.dispose();
     }
+    if (loopback != null) {
+      loopback.closeReader();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return (loopback != null ? "DefaultAeronInbound{loopback=" : "DefaultAeronInbound{image=")
+        + Integer.toHexString(sessionId)
+        + "}";
   }
 
   private class FragmentHandlerImpl implements FragmentHandler {
 
     @Override
     public void onFragment(DirectBuffer buffer, int offset, int length, Header header) {
-      produced++;
+      DefaultAeronInbound.this.onFragment(buffer, offset, length, header);
+      byteCount += length;
+    }
+  }
 
-      CoreSubscriber<? super DirectBuffer> destination =
-          DefaultAeronInbound.this.destinationSubscriber;
+  private class ControlledFragmentHandlerImpl implements ControlledFragmentHandler {
 
-      destination.onNext(new UnsafeBuffer(buffer, offset, length));
+    @Override
+    public Action onFragment(DirectBuffer buffer, int offset, int length, Header header) {
+      Action action = DefaultAeronInbound.this.onFragment(buffer, offset, length, header);
+      if (action == Action.CONTINUE) {
+        byteCount += length; // aborted fragment is delivered again
+      }
+      return action;
     }
   }
 
-  private class FluxReceive extends Flux<DirectBuffer> implements Subscription {
+  private class FluxReceive<T> extends Flux<T> implements Subscription {
+
+    private final boolean batches;
+
+    private FluxReceive(boolean batches) {
+      this.batches = batches;
+    }
 
     @Override
     public void request(long n) {
@@ -143,24 +452,26 @@ final class DefaultAeronInbound implements AeronInbound, AeronResource {
       }
       logger.debug(
           "Destination subscriber on aeron inbound has been cancelled, session id {}",
-          Integer.toHexString(image.sessionId()));
+          Integer.toHexString(sessionId));
     }
 
     @Override
-    public void subscribe(CoreSubscriber<? super DirectBuffer> destinationSubscriber) {
+    public void subscribe(CoreSubscriber<? super T> destinationSubscriber) {
       boolean result =
           DESTINATION_SUBSCRIBER.compareAndSet(
               DefaultAeronInbound.this, null, destinationSubscriber);
       if (result) {
+        // written before any request, so event loop sees it together with demand
+        DefaultAeronInbound.this.batches = batches;
         destinationSubscriber.onSubscribe(this);
       } else {
-        // only subscriber is allowed on receive()
+        // only subscriber is allowed on receive() or receiveBatches()
         Operators.error(destinationSubscriber, Exceptions.duplicateOnSubscribeException());
       }
     }
   }
 
-  private static class CancelledSubscriber implements CoreSubscriber<DirectBuffer> {
+  private static class CancelledSubscriber implements CoreSubscriber<Object> {
 
     @Override
     public void onSubscribe(Subscription s) {
@@ -168,10 +479,9 @@ final class DefaultAeronInbound implements AeronInbound, AeronResource {
     }
 
     @Override
-    public void onNext(DirectBuffer directBuffer) {
+    public void onNext(Object item) {
       logger.warn(
-          "Received buffer(len={}) which will be dropped immediately due cancelled aeron inbound",
-          directBuffer.capacity());
+          "Received {} which will be dropped immediately due cancelled aeron inbound", item);
     }
 
     @Override
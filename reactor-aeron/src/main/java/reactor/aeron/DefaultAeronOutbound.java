@@ -62,6 +62,10 @@ final class DefaultAeronOutbound implements AeronOutbound {
     return send(((Mono<ByteBuffer>) dataStream).map(UnsafeBuffer::new));
   }
 
+  MessagePublication publication() {
+    return publication;
+  }
+
   void dispose() {
     publication.dispose();
   }
@@ -0,0 +1,136 @@
+package reactor.aeron;
+
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reusable view of messages received by one poll of aeron image, see {@link
+ * AeronInbound#receiveBatches()}. Messages are kept as references to the buffer they were received
+ * in plus offsets and lengths in primitive arrays, so emitting a batch costs neither allocation nor
+ * copy per message (only messages reassembled from several fragments get copied).
+ *
+ * <p>Instance is reused from poll to poll, so content of the batch is valid only during {@code
+ * onNext}, consumers that need to keep the data must copy it, see {@link #copy(int)}.
+ */
+public final class DirectBufferBatch {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private DirectBuffer[] buffers = new DirectBuffer[INITIAL_CAPACITY];
+  private int[] offsets = new int[INITIAL_CAPACITY];
+  private int[] lengths = new int[INITIAL_CAPACITY];
+  private int size;
+
+  // storage for messages reassembled from fragments, assembler reuses its own buffer
+  private final ExpandableArrayBuffer scratch = new ExpandableArrayBuffer();
+  private int scratchLength;
+
+  DirectBufferBatch() {}
+
+  /**
+   * Returns number of messages in the batch.
+   *
+   * @return number of messages
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns buffer which contains message at the given index.
+   *
+   * @param index message index
+   * @return buffer containing the message, see {@link #offset(int)} and {@link #length(int)}
+   */
+  public DirectBuffer buffer(int index) {
+    checkIndex(index);
+    return buffers[index];
+  }
+
+  /**
+   * Returns offset of the message at the given index within its {@link #buffer(int)}.
+   *
+   * @param index message index
+   * @return offset of the message
+   */
+  public int offset(int index) {
+    checkIndex(index);
+    return offsets[index];
+  }
+
+  /**
+   * Returns length of the message at the given index.
+   *
+   * @param index message index
+   * @return length of the message
+   */
+  public int length(int index) {
+    checkIndex(index);
+    return lengths[index];
+  }
+
+  /**
+   * Wraps given flyweight around message at the given index.
+   *
+   * @param index message index
+   * @param flyweight flyweight buffer
+   */
+  public void wrap(int index, DirectBuffer flyweight) {
+    checkIndex(index);
+    flyweight.wrap(buffers[index], offsets[index], lengths[index]);
+  }
+
+  /**
+   * Copies message at the given index into newly allocated buffer.
+   *
+   * @param index message index
+   * @return copy of the message
+   */
+  public DirectBuffer copy(int index) {
+    checkIndex(index);
+    byte[] bytes = new byte[lengths[index]];
+    buffers[index].getBytes(offsets[index], bytes);
+    return new UnsafeBuffer(bytes);
+  }
+
+  void add(DirectBuffer buffer, int offset, int length) {
+    if (size == buffers.length) {
+      int capacity = size << 1;
+      buffers = Arrays.copyOf(buffers, capacity);
+      offsets = Arrays.copyOf(offsets, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+    }
+    buffers[size] = buffer;
+    offsets[size] = offset;
+    lengths[size] = length;
+    size++;
+  }
+
+  void addCopy(DirectBuffer buffer, int offset, int length) {
+    scratch.putBytes(scratchLength, buffer, offset, length);
+    add(scratch, scratchLength, length);
+    scratchLength += length;
+  }
+
+  void clear() {
+    size = 0;
+    scratchLength = 0;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "DirectBufferBatch{size=" + size + "}";
+  }
+}
@@ -2,6 +2,7 @@ package reactor.aeron;
 
 import java.nio.charset.StandardCharsets;
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxOperator;
@@ -17,6 +18,29 @@ public final class DirectBufferFlux extends FluxOperator<DirectBuffer, DirectBuf
     source.subscribe(s);
   }
 
+  /**
+   * Applies transformation {@link DirectBuffer} to its own copy. Needed when buffers are kept
+   * beyond {@code onNext}, e.g. with flyweight inbound (see {@link
+   * AeronOptions#flyweightInbound(boolean)}).
+   *
+   * @return {@code DirectBufferFlux} instance emitting copies of buffers
+   */
+  public DirectBufferFlux retain() {
+    return new DirectBufferFlux(map(DirectBufferFlux::copyOf));
+  }
+
+  /**
+   * Copies content of given buffer into newly allocated {@link UnsafeBuffer}.
+   *
+   * @param buffer source buffer
+   * @return copy of the buffer
+   */
+  public static DirectBuffer copyOf(DirectBuffer buffer) {
+    byte[] bytes = new byte[buffer.capacity()];
+    buffer.getBytes(0, bytes);
+    return new UnsafeBuffer(bytes);
+  }
+
   /**
    * Applies transformation {@link DirectBuffer} to {@code String}.
    *
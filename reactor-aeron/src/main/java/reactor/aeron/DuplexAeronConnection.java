@@ -81,6 +81,17 @@ final class DuplexAeronConnection implements AeronConnection {
     return outbound;
   }
 
+  /**
+   * Returns event loop currently serving publication of this connection. Unless inbound and
+   * outbound are split (see {@link AeronResources#splitInboundOutbound(boolean)}) it polls the
+   * inbound as well, otherwise inbound is polled by its paired inbound event loop.
+   *
+   * @return aeron event loop
+   */
+  AeronEventLoop eventLoop() {
+    return outbound.publication().eventLoop();
+  }
+
   @Override
   public void dispose() {
     dispose.onComplete();
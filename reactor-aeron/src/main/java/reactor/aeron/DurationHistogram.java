@@ -0,0 +1,96 @@
+package reactor.aeron;
+
+import java.util.Arrays;
+
+/**
+ * Compact log-linear histogram of durations in nanos: every power of two range is split into
+ * {@link #SUB_BUCKETS} linear buckets, so recorded values are kept with precision of 12.5%.
+ * Recording is O(1) and allocation free.
+ *
+ * <p>Not thread safe, supposed to be written and read by event loop thread only (see {@link
+ * WorkerFlightRecorder}), which publishes computed percentiles to other threads.
+ */
+final class DurationHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final long[] counts = new long[BUCKETS];
+  private long totalCount;
+  private long maxValue;
+
+  /**
+   * Records duration.
+   *
+   * @param value duration in nanos, negative values are recorded as zero
+   */
+  void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts[bucketIndex(value)]++;
+    totalCount++;
+    if (value > maxValue) {
+      maxValue = value;
+    }
+  }
+
+  /**
+   * Returns value at given percentile, i.e. upper bound of bucket where percentile falls into
+   * (capped by max recorded value).
+   *
+   * @param percentile percentile, from 0 to 100
+   * @return value at percentile, or {@code 0} if nothing was recorded
+   */
+  long valueAtPercentile(double percentile) {
+    if (totalCount == 0) {
+      return 0;
+    }
+    long threshold = Math.max((long) Math.ceil(totalCount * percentile / 100), 1);
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts[i];
+      if (count >= threshold) {
+        return Math.min(bucketUpperBound(i), maxValue);
+      }
+    }
+    return maxValue;
+  }
+
+  long maxValue() {
+    return maxValue;
+  }
+
+  long totalCount() {
+    return totalCount;
+  }
+
+  void reset() {
+    if (totalCount > 0) {
+      Arrays.fill(counts, 0);
+      totalCount = 0;
+      maxValue = 0;
+    }
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long subBucket = index % SUB_BUCKETS;
+    long upperBound = ((SUB_BUCKETS + subBucket) << shift) + (1L << shift) - 1;
+    return upperBound < 0 ? Long.MAX_VALUE : upperBound; // overflow of the topmost buckets
+  }
+}
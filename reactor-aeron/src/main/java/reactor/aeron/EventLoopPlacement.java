@@ -0,0 +1,133 @@
+package reactor.aeron;
+
+/**
+ * Strategy of choosing {@link AeronEventLoop} for a new connection among event loops of {@link
+ * AeronResources}. See {@link AeronOptions#eventLoopPlacement(EventLoopPlacement)}.
+ *
+ * <ul>
+ *   <li>{@link #roundRobin()} - event loops are taken one by one (default)
+ *   <li>{@link #leastConnections()} - event loop serving the least number of connections
+ *   <li>{@link #leastLoaded()} - event loop which has done the least work during last second
+ *   <li>{@link #sticky()} - event loop is chosen by hash of the connection key: server uses host of
+ *       the client, client uses server channel, so connections of the same peer share event loop
+ * </ul>
+ */
+public abstract class EventLoopPlacement {
+
+  private static final EventLoopPlacement ROUND_ROBIN = new RoundRobin();
+
+  EventLoopPlacement() {
+    // only built-in strategies, event loop is not exposed
+  }
+
+  /**
+   * Selects event loop for a new connection.
+   *
+   * @param eventLoops event loops of the group, not empty
+   * @param seq sequence number of the selection, counted per event loop group so that callers of
+   *     other groups don't skew rotation
+   * @param key connection key, may be null
+   * @return event loop
+   */
+  abstract AeronEventLoop select(AeronEventLoop[] eventLoops, int seq, Object key);
+
+  public static EventLoopPlacement roundRobin() {
+    return ROUND_ROBIN;
+  }
+
+  public static EventLoopPlacement leastConnections() {
+    return new LeastConnections();
+  }
+
+  public static EventLoopPlacement leastLoaded() {
+    return new LeastLoaded();
+  }
+
+  public static EventLoopPlacement sticky() {
+    return new Sticky();
+  }
+
+  static AeronEventLoop nextRoundRobin(AeronEventLoop[] eventLoops, int seq) {
+    return eventLoops[Math.abs(seq % eventLoops.length)];
+  }
+
+  private static class RoundRobin extends EventLoopPlacement {
+
+    @Override
+    AeronEventLoop select(AeronEventLoop[] eventLoops, int seq, Object key) {
+      return nextRoundRobin(eventLoops, seq);
+    }
+
+    @Override
+    public String toString() {
+      return "EventLoopPlacement.roundRobin";
+    }
+  }
+
+  private abstract static class LeastOf extends EventLoopPlacement {
+
+    @Override
+    AeronEventLoop select(AeronEventLoop[] eventLoops, int seq, Object key) {
+      int n = eventLoops.length;
+      // scan starts from rotating index, so ties don't pile up on the first event loop
+      int start = Math.abs(seq % n);
+      AeronEventLoop result = eventLoops[start];
+      long min = weight(result);
+      for (int i = 1; i < n; i++) {
+        AeronEventLoop eventLoop = eventLoops[(start + i) % n];
+        long weight = weight(eventLoop);
+        if (weight < min) {
+          min = weight;
+          result = eventLoop;
+        }
+      }
+      return result;
+    }
+
+    abstract long weight(AeronEventLoop eventLoop);
+  }
+
+  private static class LeastConnections extends LeastOf {
+
+    @Override
+    long weight(AeronEventLoop eventLoop) {
+      return eventLoop.connectionCount();
+    }
+
+    @Override
+    public String toString() {
+      return "EventLoopPlacement.leastConnections";
+    }
+  }
+
+  private static class LeastLoaded extends LeastOf {
+
+    @Override
+    long weight(AeronEventLoop eventLoop) {
+      return eventLoop.workCount();
+    }
+
+    @Override
+    public String toString() {
+      return "EventLoopPlacement.leastLoaded";
+    }
+  }
+
+  private static class Sticky extends EventLoopPlacement {
+
+    @Override
+    AeronEventLoop select(AeronEventLoop[] eventLoops, int seq, Object key) {
+      if (key == null) {
+        return nextRoundRobin(eventLoops, seq);
+      }
+      int hash = key.hashCode();
+      hash ^= hash >>> 16;
+      return eventLoops[(hash & Integer.MAX_VALUE) % eventLoops.length];
+    }
+
+    @Override
+    public String toString() {
+      return "EventLoopPlacement.sticky";
+    }
+  }
+}
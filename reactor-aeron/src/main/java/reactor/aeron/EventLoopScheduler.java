@@ -0,0 +1,257 @@
+package reactor.aeron;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link Scheduler} running tasks on {@link AeronEventLoop} thread, i.e. on the same thread which
+ * offers to publication of the connection. Event loop is resolved on every scheduling, so
+ * scheduler follows connection migrated to another event loop.
+ *
+ * <p>Immediate tasks go through event loop command queue, delayed and periodic tasks go to event
+ * loop timer wheel (via command queue as well, unless scheduled from the event loop itself). Task
+ * which can't be enqueued is rejected with {@link RejectedExecutionException}, as by any other
+ * scheduler. Tasks must not block.
+ */
+final class EventLoopScheduler implements Scheduler {
+
+  private final Supplier<AeronEventLoop> eventLoopSupplier;
+
+  /**
+   * Constructor.
+   *
+   * @param eventLoopSupplier supplier of current event loop
+   */
+  EventLoopScheduler(Supplier<AeronEventLoop> eventLoopSupplier) {
+    this.eventLoopSupplier = eventLoopSupplier;
+  }
+
+  @Override
+  public Disposable schedule(Runnable task) {
+    return schedule(task, null);
+  }
+
+  @Override
+  public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+    return schedule(task, delay, unit, null);
+  }
+
+  @Override
+  public Disposable schedulePeriodically(
+      Runnable task, long initialDelay, long period, TimeUnit unit) {
+    return schedulePeriodically(task, initialDelay, period, unit, null);
+  }
+
+  @Override
+  public Worker createWorker() {
+    return new EventLoopWorker();
+  }
+
+  @Override
+  public boolean isDisposed() {
+    return eventLoopSupplier.get().isDisposed();
+  }
+
+  @Override
+  public String toString() {
+    return "EventLoopScheduler{" + eventLoopSupplier.get() + "}";
+  }
+
+  private Disposable schedule(Runnable task, Disposable.Composite tasks) {
+    Task t = new Task(task, tasks);
+    if (!eventLoopSupplier.get().execute(t)) {
+      t.dispose();
+      throw Exceptions.failWithRejected();
+    }
+    return t;
+  }
+
+  private Disposable schedule(
+      Runnable task, long delay, TimeUnit unit, Disposable.Composite tasks) {
+    AeronEventLoop eventLoop = eventLoopSupplier.get();
+    if (eventLoop.isDisposed()) {
+      throw Exceptions.failWithRejected();
+    }
+    Task t = new Task(task, tasks);
+    try {
+      t.timer = eventLoop.schedule(t, delay, unit);
+    } catch (RejectedExecutionException ex) {
+      t.dispose();
+      throw ex;
+    }
+    return t;
+  }
+
+  private Disposable schedulePeriodically(
+      Runnable task, long initialDelay, long period, TimeUnit unit, Disposable.Composite tasks) {
+    AeronEventLoop eventLoop = eventLoopSupplier.get();
+    if (eventLoop.isDisposed()) {
+      throw Exceptions.failWithRejected();
+    }
+    PeriodicTask t = new PeriodicTask(task, period, unit, tasks);
+    try {
+      t.timer = eventLoop.schedule(t, initialDelay, unit);
+    } catch (RejectedExecutionException ex) {
+      t.dispose();
+      throw ex;
+    }
+    return t;
+  }
+
+  private static class Task implements Runnable, Disposable {
+
+    private final Runnable task;
+    private final Disposable.Composite tasks;
+
+    volatile Disposable timer;
+    private volatile boolean disposed;
+
+    private Task(Runnable task, Disposable.Composite tasks) {
+      this.task = task;
+      this.tasks = tasks;
+      if (tasks != null) {
+        tasks.add(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (!disposed) {
+        try {
+          task.run();
+        } finally {
+          dispose();
+        }
+      }
+    }
+
+    @Override
+    public void dispose() {
+      if (!disposed) {
+        disposed = true;
+        Disposable timer = this.timer;
+        if (timer != null) {
+          timer.dispose();
+        }
+        if (tasks != null) {
+          tasks.remove(this);
+        }
+      }
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return disposed;
+    }
+  }
+
+  private class PeriodicTask implements Runnable, Disposable {
+
+    private final Runnable task;
+    private final long period;
+    private final TimeUnit unit;
+    private final Disposable.Composite tasks;
+
+    volatile Disposable timer;
+    private volatile boolean disposed;
+
+    private PeriodicTask(Runnable task, long period, TimeUnit unit, Disposable.Composite tasks) {
+      this.task = task;
+      this.period = period;
+      this.unit = unit;
+      this.tasks = tasks;
+      if (tasks != null) {
+        tasks.add(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (disposed) {
+        return;
+      }
+      try {
+        task.run();
+      } catch (Throwable th) {
+        dispose();
+        throw th;
+      }
+      if (!disposed) {
+        try {
+          // connection may have been migrated meanwhile, then it's another event loop
+          timer = eventLoopSupplier.get().schedule(this, period, unit);
+        } catch (RejectedExecutionException ex) {
+          dispose();
+          throw ex;
+        }
+        if (disposed) {
+          timer.dispose();
+        }
+      }
+    }
+
+    @Override
+    public void dispose() {
+      if (!disposed) {
+        disposed = true;
+        Disposable timer = this.timer;
+        if (timer != null) {
+          timer.dispose();
+        }
+        if (tasks != null) {
+          tasks.remove(this);
+        }
+      }
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return disposed;
+    }
+  }
+
+  private class EventLoopWorker implements Worker {
+
+    private final Disposable.Composite tasks = Disposables.composite();
+
+    @Override
+    public Disposable schedule(Runnable task) {
+      checkNotDisposed();
+      return EventLoopScheduler.this.schedule(task, tasks);
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+      checkNotDisposed();
+      return EventLoopScheduler.this.schedule(task, delay, unit, tasks);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(
+        Runnable task, long initialDelay, long period, TimeUnit unit) {
+      checkNotDisposed();
+      return EventLoopScheduler.this.schedulePeriodically(task, initialDelay, period, unit, tasks);
+    }
+
+    @Override
+    public void dispose() {
+      tasks.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return tasks.isDisposed();
+    }
+
+    private void checkNotDisposed() {
+      if (tasks.isDisposed()) {
+        throw Exceptions.failWithRejected();
+      }
+    }
+  }
+}
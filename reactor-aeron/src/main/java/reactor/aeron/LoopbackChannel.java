@@ -0,0 +1,130 @@
+package reactor.aeron;
+
+import io.aeron.Publication;
+import io.aeron.ReservedValueSupplier;
+import java.nio.ByteBuffer;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RecordDescriptor;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+/**
+ * One direction of in-JVM loopback connection (see {@link AeronLoopback}), no media driver
+ * involved. Frames offered by {@link MessagePublication} of one end are written into Agrona {@link
+ * OneToOneRingBuffer}, {@link DefaultAeronInbound} of the other end reads them from there. Single
+ * writer is the event loop of the publication, single reader is the inbound event loop of the peer.
+ *
+ * <p>Full ring buffer is reported as {@link Publication#BACK_PRESSURED} and closed reader as {@link
+ * Publication#NOT_CONNECTED}, so that publication timeouts apply as is. Frames are never batched
+ * (see {@link MessageFrames}): they are not marked, hence the peer never enables coalescing. Nor
+ * they are fragmented, messages longer than {@link #maxMessageLength()} are rejected by {@link
+ * MessagePublication} before they get here.
+ */
+final class LoopbackChannel implements MessageSink {
+
+  private static final int MSG_TYPE_ID = 1;
+
+  private final String channel;
+  private final int sessionId;
+  private final RingBuffer ringBuffer;
+
+  private volatile boolean closed;
+  private volatile boolean readerClosed;
+
+  // written by writer only
+  private long position;
+
+  /**
+   * Constructor.
+   *
+   * @param channel description of the direction, for logging
+   * @param sessionId session id of the connection
+   * @param capacity ring buffer capacity, power of two
+   */
+  LoopbackChannel(String channel, int sessionId, int capacity) {
+    this.channel = channel;
+    this.sessionId = sessionId;
+    this.ringBuffer =
+        new OneToOneRingBuffer(
+            new UnsafeBuffer(
+                ByteBuffer.allocateDirect(capacity + RingBufferDescriptor.TRAILER_LENGTH)));
+  }
+
+  @Override
+  public long offer(
+      DirectBuffer buffer, int offset, int length, ReservedValueSupplier frameSupplier) {
+    if (closed) {
+      return Publication.CLOSED;
+    }
+    if (readerClosed) {
+      return Publication.NOT_CONNECTED;
+    }
+    if (!ringBuffer.write(MSG_TYPE_ID, buffer, offset, length)) {
+      return Publication.BACK_PRESSURED;
+    }
+    // like aeron positions, counts frame headers too, so that empty message still gives r > 0
+    position += BitUtil.align(length + RecordDescriptor.HEADER_LENGTH, RecordDescriptor.ALIGNMENT);
+    return position;
+  }
+
+  @Override
+  public int maxPayloadLength() {
+    return ringBuffer.maxMsgLength();
+  }
+
+  @Override
+  public int maxMessageLength() {
+    return ringBuffer.maxMsgLength(); // never fragmented
+  }
+
+  @Override
+  public int sessionId() {
+    return sessionId;
+  }
+
+  @Override
+  public boolean isConnected() {
+    return !closed && !readerClosed;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public String channel() {
+    return channel;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  /**
+   * Reads frames written so far, called from reader event loop only. Space of read frames gets
+   * reclaimed once this method returns, so handler must not keep references to the buffer.
+   *
+   * @param handler frame handler
+   * @param limit max number of frames to read
+   * @return number of frames read
+   */
+  int read(MessageHandler handler, int limit) {
+    return ringBuffer.read(handler, limit);
+  }
+
+  /** Notifies writer that nobody reads this channel anymore. */
+  void closeReader() {
+    readerClosed = true;
+  }
+
+  @Override
+  public String toString() {
+    return "LoopbackChannel{" + channel + "}";
+  }
+}
@@ -0,0 +1,108 @@
+package reactor.aeron;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * In-JVM loopback connector, see {@link AeronLoopback}. Schematically can be described as:
+ *
+ * <pre>
+ * Connecting end                                     Peer
+ * outbound->Pub(ring)-----LoopbackChannel(->peer)--->inbound
+ * inbound<------------LoopbackChannel(->connecting)<-Pub(ring)<-outbound</pre>
+ */
+final class LoopbackConnector {
+
+  private static final Logger logger = LoggerFactory.getLogger(LoopbackConnector.class);
+
+  private final AeronOptions options;
+  private final AeronResources resources;
+  private final Function<? super AeronConnection, ? extends Publisher<Void>> handler;
+  private final Function<? super AeronConnection, ? extends Publisher<Void>> peerHandler;
+
+  LoopbackConnector(
+      AeronOptions options,
+      Function<? super AeronConnection, ? extends Publisher<Void>> peerHandler) {
+    this.options = options;
+    this.resources = options.resources();
+    this.handler = options.handler();
+    this.peerHandler = peerHandler;
+  }
+
+  /**
+   * Creates both ends of loopback connection and wires their disposal together.
+   *
+   * @return mono result, connecting end
+   */
+  Mono<AeronConnection> start() {
+    return Mono.defer(
+        () -> {
+          int sessionId = nextSessionId();
+          String name = "loopback:" + Integer.toHexString(sessionId);
+          int capacity = options.loopbackCapacity();
+
+          LoopbackChannel toPeer = new LoopbackChannel(name + "->peer", sessionId, capacity);
+          LoopbackChannel fromPeer =
+              new LoopbackChannel(name + "->connecting", sessionId, capacity);
+
+          logger.debug("{}: creating loopback connection", Integer.toHexString(sessionId));
+
+          return newConnection(sessionId, fromPeer, toPeer)
+              .flatMap(
+                  peer ->
+                      newConnection(sessionId, toPeer, fromPeer)
+                          .doOnError(ex -> peer.dispose())
+                          .flatMap(
+                              connection -> {
+                                // disposal of either end disposes the other one, as image
+                                // unavailability does over aeron
+                                peer.onDispose().doFinally(s -> connection.dispose()).subscribe();
+                                connection.onDispose().doFinally(s -> peer.dispose()).subscribe();
+
+                                return peer.start(peerHandler)
+                                    .then(connection.start(handler))
+                                    .doOnError(ex -> connection.dispose());
+                              }))
+              .doOnSuccess(
+                  connection ->
+                      logger.debug(
+                          "{}: created loopback connection", Integer.toHexString(sessionId)));
+        });
+  }
+
+  private Mono<DuplexAeronConnection> newConnection(
+      int sessionId, LoopbackChannel outboundChannel, LoopbackChannel inboundChannel) {
+    return Mono.defer(
+        () -> {
+          AeronEventLoop eventLoop = resources.nextEventLoop(options.eventLoopPlacement(), null);
+
+          return resources
+              .publication(outboundChannel, options, eventLoop)
+              .flatMap(
+                  publication ->
+                      resources
+                          .inbound(inboundChannel, publication, options, eventLoop)
+                          .doOnError(ex -> publication.dispose())
+                          .map(
+                              inbound ->
+                                  new DuplexAeronConnection(
+                                      sessionId,
+                                      inbound,
+                                      new DefaultAeronOutbound(publication),
+                                      MonoProcessor.create())));
+        });
+  }
+
+  private int nextSessionId() {
+    Supplier<Integer> sessionIdGenerator = options.sessionIdGenerator();
+    return sessionIdGenerator != null
+        ? sessionIdGenerator.get()
+        : ThreadLocalRandom.current().nextInt();
+  }
+}
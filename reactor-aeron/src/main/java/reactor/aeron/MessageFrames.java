@@ -0,0 +1,61 @@
+package reactor.aeron;
+
+import io.aeron.ReservedValueSupplier;
+import org.agrona.BitUtil;
+
+/**
+ * Wire level conventions of aeron frames sent by {@link MessagePublication}. Every frame is marked
+ * in the reserved value of aeron data header (legacy peers simply ignore it): higher 32 bits carry
+ * {@link #MAGIC}, lower bits carry frame flags.
+ *
+ * <p>Batch frame (flag {@link #FLAG_BATCH}) packs several messages, each one is prefixed with its
+ * length:
+ *
+ * <pre>
+ * [int length][payload][int length][payload]...
+ * </pre>
+ *
+ * <p>First frame of the peer tells {@link DefaultAeronInbound} whether peer is able to unpack batch
+ * frames: only if it's marked coalescing gets enabled on the paired {@link MessagePublication}.
+ * Legacy peers never mark their frames, so nothing gets coalesced towards them.
+ *
+ * <p>Setup frame (flag {@link #FLAG_SETUP}) is empty, it's consumed by {@link DefaultAeronInbound}
+ * and never emitted as a message. It's sent only in reply to marked first frame of the peer, by a
+ * side which hasn't published anything yet, so that the peer gets a marked frame too even if this
+ * side never publishes (e.g. pure server push). Legacy peers never mark frames, hence never get
+ * setup frame either.
+ */
+final class MessageFrames {
+
+  static final long MAGIC = 0x52414552L << 32; // "RAER"
+  static final long MAGIC_MASK = 0xFFFFFFFFL << 32;
+
+  static final long FLAG_BATCH = 1;
+  static final long FLAG_SETUP = 2;
+
+  static final int LENGTH_FIELD_LENGTH = BitUtil.SIZE_OF_INT;
+
+  static final long PLAIN_FRAME = MAGIC;
+  static final long BATCH_FRAME = MAGIC | FLAG_BATCH;
+  static final long SETUP_FRAME = MAGIC | FLAG_SETUP;
+
+  static final ReservedValueSupplier PLAIN_FRAME_SUPPLIER = (buffer, offset, length) -> PLAIN_FRAME;
+  static final ReservedValueSupplier BATCH_FRAME_SUPPLIER = (buffer, offset, length) -> BATCH_FRAME;
+  static final ReservedValueSupplier SETUP_FRAME_SUPPLIER = (buffer, offset, length) -> SETUP_FRAME;
+
+  private MessageFrames() {
+    // Do not instantiate
+  }
+
+  static boolean isMarked(long reservedValue) {
+    return (reservedValue & MAGIC_MASK) == MAGIC;
+  }
+
+  static boolean isBatch(long reservedValue) {
+    return isMarked(reservedValue) && (reservedValue & FLAG_BATCH) != 0;
+  }
+
+  static boolean isSetup(long reservedValue) {
+    return isMarked(reservedValue) && (reservedValue & FLAG_SETUP) != 0;
+  }
+}
@@ -1,10 +1,15 @@
 package reactor.aeron;
 
 import io.aeron.Publication;
+import io.aeron.logbuffer.BufferClaim;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.agrona.DirectBuffer;
 import org.agrona.collections.ArrayUtil;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
@@ -14,21 +19,59 @@ import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 import reactor.core.publisher.SignalType;
+import reactor.util.concurrent.Queues;
 
 class MessagePublication implements OnDisposable, AeronResource {
 
   private static final Logger logger = LoggerFactory.getLogger(MessagePublication.class);
 
+  private static final AtomicIntegerFieldUpdater<MessagePublication> READY =
+      AtomicIntegerFieldUpdater.newUpdater(MessagePublication.class, "ready");
+
+  private static final AtomicIntegerFieldUpdater<MessagePublication> SETUP =
+      AtomicIntegerFieldUpdater.newUpdater(MessagePublication.class, "setup");
+
+  private static final int SETUP_NONE = 0;
+  private static final int SETUP_AWAITING = 1; // awaiting connected publication
+  private static final int SETUP_PENDING = 2;
+  private static final int SETUP_SENT = 3;
+
+  private static final DirectBuffer EMPTY_BUFFER = new UnsafeBuffer(new byte[0]);
+
   private static final AtomicReferenceFieldUpdater<MessagePublication, PublisherProcessor[]>
       PUBLISHER_PROCESSORS =
           AtomicReferenceFieldUpdater.newUpdater(
               MessagePublication.class, PublisherProcessor[].class, "publisherProcessors");
 
-  private final Publication publication;
-  private final AeronEventLoop eventLoop;
+  private final MessageSink publication;
+  private final Publication claimPublication; // null unless backed by aeron publication
+  private volatile AeronEventLoop eventLoop;
   private final Duration connectTimeout;
   private final Duration backpressureTimeout;
   private final Duration adminActionTimeout;
+  private final int prefetch;
+  private final int maxPayloadLength;
+  private final int maxMessageLength;
+  private final int maxClaimLength;
+  private final BufferClaim bufferClaim = new BufferClaim();
+  private final boolean coalescing;
+  private final long coalescingLingerNs;
+
+  private volatile boolean peerCoalescing;
+
+  // state of setup frame of this side, see MessageFrames
+  private volatile int setup;
+
+  // 1 if event loop has been notified of pending work, see markReady()
+  private volatile int ready;
+  // next publication in ready list of event loop, see AeronEventLoop#onReady()
+  MessagePublication nextReady;
+
+  // approximate, written by event loop only
+  private long workCount;
+  private long byteCount;
+  private long frameCount;
+  private long cpuTime;
 
   private volatile Throwable lastError;
 
@@ -44,11 +87,38 @@ class MessagePublication implements OnDisposable, AeronResource {
    * @param eventLoop aeron event loop where this {@code MessagePublication} is assigned
    */
   MessagePublication(Publication publication, AeronOptions options, AeronEventLoop eventLoop) {
+    this(MessageSink.of(publication), publication, options, eventLoop);
+  }
+
+  /**
+   * Constructor of loopback connection publication. Frames are always copied into the ring buffer,
+   * never claimed in place.
+   *
+   * @param loopback loopback channel
+   * @param options aeron options
+   * @param eventLoop aeron event loop where this {@code MessagePublication} is assigned
+   */
+  MessagePublication(LoopbackChannel loopback, AeronOptions options, AeronEventLoop eventLoop) {
+    this(loopback, null, options, eventLoop);
+  }
+
+  private MessagePublication(
+      MessageSink publication,
+      Publication claimPublication,
+      AeronOptions options,
+      AeronEventLoop eventLoop) {
     this.publication = publication;
+    this.claimPublication = claimPublication;
     this.eventLoop = eventLoop;
     this.connectTimeout = options.connectTimeout();
     this.backpressureTimeout = options.backpressureTimeout();
     this.adminActionTimeout = options.adminActionTimeout();
+    this.prefetch = options.outboundPrefetch();
+    this.maxPayloadLength = publication.maxPayloadLength();
+    this.maxMessageLength = publication.maxMessageLength();
+    this.maxClaimLength = claimPublication != null ? maxPayloadLength : 0;
+    this.coalescing = options.outboundCoalescing();
+    this.coalescingLingerNs = options.outboundCoalescingLinger().toNanos();
   }
 
   /**
@@ -76,6 +146,10 @@ class MessagePublication implements OnDisposable, AeronResource {
    */
   int publish() {
 
+    if (setup == SETUP_PENDING) {
+      offerSetupFrame();
+    }
+
     PublisherProcessor[] oldArray = this.publisherProcessors;
     int result = 0;
 
@@ -87,77 +161,35 @@ class MessagePublication implements OnDisposable, AeronResource {
 
       processor.request();
 
-      Object buffer = processor.buffer;
-      if (buffer == null) {
-        continue;
-      }
-
-      long r = 0;
-
-      try {
-        r = processor.publish(buffer);
-      } catch (Exception e) {
-        ex = e;
-      }
-
-      if (r > 0) {
-        result++;
-        processor.reset();
-        continue;
-      }
+      // drain no more than prefetch per tick, upstream may keep filling the queue meanwhile
+      for (int n = 0; n < processor.prefetch; n++) {
+        long r;
 
-      // Handle closed publication
-      if (r == Publication.CLOSED) {
-        logger.warn("aeron.Publication is CLOSED: {}", this);
-        ex = AeronExceptions.failWithPublication("aeron.Publication is CLOSED");
-      }
-
-      // Handle max position exceeded
-      if (r == Publication.MAX_POSITION_EXCEEDED) {
-        logger.warn("aeron.Publication received MAX_POSITION_EXCEEDED: {}", this);
-        ex =
-            AeronExceptions.failWithPublication("aeron.Publication received MAX_POSITION_EXCEEDED");
-      }
-
-      // Handle failed connection
-      if (r == Publication.NOT_CONNECTED) {
-        if (processor.isTimeoutElapsed(connectTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve NOT_CONNECTED within {} ms, {}",
-              connectTimeout.toMillis(),
-              this);
-          ex =
-              AeronExceptions.failWithPublication("Failed to resolve NOT_CONNECTED within timeout");
+        try {
+          r = processor.publish();
+        } catch (Exception e) {
+          ex = e;
+          break;
         }
-      }
 
-      // Handle backpressure
-      if (r == Publication.BACK_PRESSURED) {
-        if (processor.isTimeoutElapsed(backpressureTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve BACK_PRESSURED within {} ms, {}",
-              backpressureTimeout.toMillis(),
-              this);
-          ex =
-              AeronExceptions.failWithPublication(
-                  "Failed to resolve BACK_PRESSURED within timeout");
+        if (r == 0) {
+          break; // nothing to publish
         }
-      }
 
-      // Handle admin action
-      if (r == Publication.ADMIN_ACTION) {
-        if (processor.isTimeoutElapsed(adminActionTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve ADMIN_ACTION within {} ms, {}",
-              adminActionTimeout.toMillis(),
-              this);
-          ex = AeronExceptions.failWithPublication("Failed to resolve ADMIN_ACTION within timeout");
+        if (r > 0) {
+          result += processor.commit();
+          continue;
         }
+
+        ex = checkResult(r, processor);
+        break;
       }
 
       if (ex != null) {
         break;
       }
+
+      processor.tryComplete();
     }
 
     if (ex != null) {
@@ -165,9 +197,203 @@ class MessagePublication implements OnDisposable, AeronResource {
       dispose();
     }
 
+    workCount += result;
     return result;
   }
 
+  /**
+   * Notifies event loop that this publication has pending work, only the first call after the
+   * publication got idle gets through.
+   */
+  void markReady() {
+    if (ready == 0 && READY.compareAndSet(this, 0, 1)) {
+      eventLoop.onReady(this);
+    }
+  }
+
+  /** Marks this publication as being visited by event loop, called from event loop only. */
+  void markActive() {
+    ready = 1;
+  }
+
+  /**
+   * Tries to turn this publication idle if it has no pending work, called from event loop only.
+   * Pending work is re-checked after clearing the flag, so concurrent {@link #markReady()} is not
+   * lost.
+   *
+   * @return {@code true} if publication got idle and event loop may stop visiting it, {@code
+   *     false} otherwise
+   */
+  boolean tryIdle() {
+    if (hasPendingWork()) {
+      return false;
+    }
+    ready = 0;
+    return !hasPendingWork() || !READY.compareAndSet(this, 0, 1);
+  }
+
+  private boolean hasPendingWork() {
+    if (setup == SETUP_PENDING) {
+      return true;
+    }
+    PublisherProcessor[] processors = this.publisherProcessors;
+    //noinspection ForLoopReplaceableByForEach
+    for (int i = 0; i < processors.length; i++) {
+      if (processors[i].hasPendingWork()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Offers setup frame (see {@link MessageFrames}) unless some frame has been published meanwhile.
+   * Back pressure is retried on next tick, disconnected publication goes back to awaiting. Other
+   * errors are not reported from here, pending publishers run into them anyway.
+   */
+  private void offerSetupFrame() {
+    if (frameCount > 0) {
+      setup = SETUP_SENT; // peer has got marked frame already
+      return;
+    }
+    long r = publication.offer(EMPTY_BUFFER, 0, 0, MessageFrames.SETUP_FRAME_SUPPLIER);
+    if (r > 0) {
+      setup = SETUP_SENT;
+      logger.debug("Sent setup frame on {}", this);
+    } else if (r == Publication.NOT_CONNECTED) {
+      setup = SETUP_AWAITING;
+      awaitSetup();
+    } else if (r == Publication.CLOSED || r == Publication.MAX_POSITION_EXCEEDED) {
+      setup = SETUP_SENT; // give up
+    }
+  }
+
+  /**
+   * Waits for connected publication without keeping this publication busy on the event loop, then
+   * lets {@link #publish()} offer setup frame.
+   */
+  private void awaitSetup() {
+    ensureConnected()
+        .subscribe(
+            ignore -> {
+              if (SETUP.compareAndSet(this, SETUP_AWAITING, SETUP_PENDING)) {
+                markReady();
+              }
+            },
+            ex -> logger.debug("Gave up on setup frame on {}, cause: {}", this, ex.toString()));
+  }
+
+  private Exception checkResult(long r, PublisherProcessor processor) {
+    // Handle closed publication
+    if (r == Publication.CLOSED) {
+      logger.warn("aeron.Publication is CLOSED: {}", this);
+      return AeronExceptions.failWithPublication("aeron.Publication is CLOSED");
+    }
+
+    // Handle max position exceeded
+    if (r == Publication.MAX_POSITION_EXCEEDED) {
+      logger.warn("aeron.Publication received MAX_POSITION_EXCEEDED: {}", this);
+      return AeronExceptions.failWithPublication(
+          "aeron.Publication received MAX_POSITION_EXCEEDED");
+    }
+
+    // Handle failed connection
+    if (r == Publication.NOT_CONNECTED) {
+      if (processor.isTimeoutElapsed(connectTimeout)) {
+        logger.warn(
+            "aeron.Publication failed to resolve NOT_CONNECTED within {} ms, {}",
+            connectTimeout.toMillis(),
+            this);
+        return AeronExceptions.failWithPublication(
+            "Failed to resolve NOT_CONNECTED within timeout");
+      }
+    }
+
+    // Handle backpressure
+    if (r == Publication.BACK_PRESSURED) {
+      if (processor.isTimeoutElapsed(backpressureTimeout)) {
+        logger.warn(
+            "aeron.Publication failed to resolve BACK_PRESSURED within {} ms, {}",
+            backpressureTimeout.toMillis(),
+            this);
+        return AeronExceptions.failWithPublication(
+            "Failed to resolve BACK_PRESSURED within timeout");
+      }
+    }
+
+    // Handle admin action
+    if (r == Publication.ADMIN_ACTION) {
+      if (processor.isTimeoutElapsed(adminActionTimeout)) {
+        logger.warn(
+            "aeron.Publication failed to resolve ADMIN_ACTION within {} ms, {}",
+            adminActionTimeout.toMillis(),
+            this);
+        return AeronExceptions.failWithPublication(
+            "Failed to resolve ADMIN_ACTION within timeout");
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public AeronEventLoop eventLoop() {
+    return eventLoop;
+  }
+
+  /**
+   * Moves this publication to another event loop, see {@link AeronEventLoop#migrate}.
+   *
+   * @param eventLoop new owner event loop
+   */
+  void eventLoop(AeronEventLoop eventLoop) {
+    this.eventLoop = eventLoop;
+  }
+
+  /**
+   * Returns total number of messages published so far. Approximate when called outside of event
+   * loop.
+   *
+   * @return total number of messages published
+   */
+  long workCount() {
+    return workCount;
+  }
+
+  /**
+   * Returns total number of bytes published so far. Approximate when called outside of event
+   * loop.
+   *
+   * @return total number of bytes published
+   */
+  long byteCount() {
+    return byteCount;
+  }
+
+  /**
+   * Returns total number of frames published so far, less than number of messages if some of them
+   * were packed into batch frames. Approximate when called outside of event loop.
+   *
+   * @return total number of frames published
+   */
+  long frameCount() {
+    return frameCount;
+  }
+
+  /**
+   * Returns total time event loop has spent in {@link #publish()} so far, counted only when
+   * resource accounting is on. Approximate when called outside of event loop.
+   *
+   * @return total time spent in publishing, in nanos
+   */
+  long cpuTime() {
+    return cpuTime;
+  }
+
+  void countCpuTime(long nanos) {
+    cpuTime += nanos;
+  }
+
   @Override
   public void close() {
     if (!eventLoop.inEventLoop()) {
@@ -186,7 +412,27 @@ class MessagePublication implements OnDisposable, AeronResource {
   }
 
   /**
-   * Delegates to {@link Publication#sessionId()}.
+   * Notifies this publication that the first frame of remote peer is marked, i.e. peer is able to
+   * unpack batch frames and to consume setup frame. Replies with setup frame unless something has
+   * been published already, so that peer learns the same about this side. See {@link
+   * MessageFrames}.
+   */
+  void onPeerMarked() {
+    if (coalescing && !peerCoalescing) {
+      peerCoalescing = true;
+      logger.debug("Enabled coalescing on {}", this);
+    }
+    if (frameCount == 0 && SETUP.compareAndSet(this, SETUP_NONE, SETUP_AWAITING)) {
+      awaitSetup();
+    }
+  }
+
+  boolean isPeerCoalescing() {
+    return peerCoalescing;
+  }
+
+  /**
+   * Delegates to {@link MessageSink#sessionId()}.
    *
    * @return aeron {@code Publication} sessionId.
    */
@@ -195,7 +441,7 @@ class MessagePublication implements OnDisposable, AeronResource {
   }
 
   /**
-   * Delegates to {@link Publication#isClosed()}.
+   * Delegates to {@link MessageSink#isClosed()}.
    *
    * @return {@code true} if aeron {@code Publication} is closed, {@code false} otherwise
    */
@@ -221,33 +467,35 @@ class MessagePublication implements OnDisposable, AeronResource {
   }
 
   /**
-   * Spins (in async fashion) until {@link Publication#isConnected()} would have returned {@code
-   * true} or {@code connectTimeout} elapsed. See also {@link
-   * MessagePublication#ensureConnected0()}.
+   * Awaits until {@link MessageSink#isConnected()} would have returned {@code true} or {@code
+   * connectTimeout} elapsed. Checked by event loop on every tick (see {@link
+   * AeronEventLoop#await(java.util.concurrent.Callable, java.util.function.Consumer)}), so that
+   * result is signalled as soon as publication gets connected.
    *
    * @return mono result
    */
   Mono<MessagePublication> ensureConnected() {
     return Mono.defer(
-        () -> {
-          Duration retryInterval = Duration.ofMillis(100);
-          long retryCount = Math.max(connectTimeout.toMillis() / retryInterval.toMillis(), 1);
-
-          return ensureConnected0()
-              .retryBackoff(retryCount, retryInterval, retryInterval)
-              .doOnError(
-                  ex -> logger.warn("aeron.Publication is not connected after several retries"))
-              .thenReturn(this);
-        });
+        () ->
+            eventLoop
+                .await(this::pollConnected, null)
+                .timeout(
+                    connectTimeout,
+                    Mono.error(
+                        () ->
+                            AeronExceptions.failWithPublication(
+                                "aeron.Publication is not connected")))
+                .doOnError(
+                    ex ->
+                        logger.warn(
+                            "aeron.Publication is not connected within {}", connectTimeout)));
   }
 
-  private Mono<Void> ensureConnected0() {
-    return Mono.defer(
-        () ->
-            publication.isConnected()
-                ? Mono.empty()
-                : Mono.error(
-                    AeronExceptions.failWithPublication("aeron.Publication is not connected")));
+  private MessagePublication pollConnected() {
+    if (publication.isClosed()) {
+      throw AeronExceptions.failWithPublication("aeron.Publication is closed");
+    }
+    return publication.isConnected() ? this : null;
   }
 
   private void disposeProcessors() {
@@ -270,23 +518,48 @@ class MessagePublication implements OnDisposable, AeronResource {
     return "MessagePublication{pub=" + publication.channel() + "}";
   }
 
+  /**
+   * Subscriber to the outbound publisher. Requests {@code prefetch} elements from upstream and
+   * keeps them in a bounded queue, event loop drains that queue into aeron publication preserving
+   * order and replenishes demand once {@code limit} elements were published. With coalescing
+   * enabled pending elements are packed into batch frame first (see {@link MessageFrames}).
+   */
   private static class PublisherProcessor<B> extends BaseSubscriber<B> implements OnDisposable {
 
     private final DirectBufferHandler<? super B> bufferHandler;
+    private final ClaimingBufferHandler<? super B> claimingBufferHandler;
     private final MessagePublication parent;
+    private final int prefetch;
+    private final int limit;
+    private final Queue<B> queue;
 
     private long start;
     private boolean requested;
+    private int produced;
+
+    private UnsafeBuffer batchBuffer;
+    private int batchLength;
+    private int batchCount;
+    private long batchStartNs;
+    // length of the frame being offered, counted once offer succeeds
+    private int offerLength;
 
     private final MonoProcessor<Void> onDispose = MonoProcessor.create();
 
-    private volatile B buffer;
+    private volatile boolean done;
     private volatile Throwable error;
 
     PublisherProcessor(
         DirectBufferHandler<? super B> bufferHandler, MessagePublication messagePublication) {
       this.bufferHandler = bufferHandler;
+      this.claimingBufferHandler =
+          bufferHandler instanceof ClaimingBufferHandler
+              ? (ClaimingBufferHandler<? super B>) bufferHandler
+              : null;
       this.parent = messagePublication;
+      this.prefetch = messagePublication.prefetch;
+      this.limit = prefetch - (prefetch >> 2);
+      this.queue = Queues.<B>get(prefetch).get();
       addSelf();
     }
 
@@ -303,49 +576,123 @@ class MessagePublication implements OnDisposable, AeronResource {
       Subscription upstream = upstream();
       if (upstream != null) {
         requested = true;
-        upstream.request(1);
+        upstream.request(prefetch);
       }
     }
 
-    void onParentError(Throwable throwable) {
-      resetBuffer();
-      onDispose.onError(throwable);
+    /**
+     * Publishes either batch frame (if coalescing is on) or head of the queue.
+     *
+     * @return result of aeron offer, or {@code 0} if there is nothing to publish
+     */
+    long publish() {
+      if (parent.peerCoalescing) {
+        stage();
+      }
+
+      if (batchCount > 0) {
+        if (isLingering()) {
+          return 0;
+        }
+        markStart();
+        offerLength = batchLength;
+        return parent.publication.offer(
+            batchBuffer, 0, batchLength, MessageFrames.BATCH_FRAME_SUPPLIER);
+      }
+
+      B buffer = queue.peek();
+      if (buffer == null) {
+        return 0;
+      }
+
+      markStart();
+      int length = bufferHandler.estimateLength(buffer);
+      if (claimingBufferHandler != null && length <= parent.maxClaimLength) {
+        offerLength = length;
+        return claimAndWrite(buffer, length);
+      }
+      DirectBuffer directBuffer = bufferHandler.map(buffer, length);
+      if (directBuffer.capacity() > parent.maxMessageLength) {
+        rejectOversized(directBuffer.capacity());
+        return 0;
+      }
+      offerLength = directBuffer.capacity();
+      return parent.publication.offer(
+          directBuffer, 0, directBuffer.capacity(), MessageFrames.PLAIN_FRAME_SUPPLIER);
+    }
+
+    /**
+     * Removes successfully published batch or head of the queue.
+     *
+     * @return number of published elements
+     */
+    int commit() {
+      start = 0;
+      parent.byteCount += offerLength;
+      parent.frameCount++;
+      if (batchCount > 0) {
+        int count = batchCount;
+        batchCount = 0;
+        batchLength = 0;
+        return count;
+      }
+      release(queue.poll());
+      replenish();
+      return 1;
     }
 
-    void reset() {
-      resetBuffer();
+    /**
+     * Returns whether event loop has something to do with this processor: initial request,
+     * elements to publish or completion.
+     *
+     * @return {@code true} if there is pending work
+     */
+    boolean hasPendingWork() {
+      return (!requested && upstream() != null)
+          || !queue.isEmpty()
+          || batchCount > 0
+          || done;
+    }
 
-      if (isDisposed()) {
+    /** Completes this processor once upstream terminated and everything was published. */
+    void tryComplete() {
+      if (done && queue.isEmpty() && batchCount == 0) {
         removeSelf();
         if (error != null) {
           onDispose.onError(error);
         } else {
           onDispose.onComplete();
         }
-        return;
       }
+    }
 
-      start = 0;
-      requested = false;
+    void onParentError(Throwable throwable) {
+      batchCount = 0;
+      batchLength = 0;
+      B buffer;
+      while ((buffer = queue.poll()) != null) {
+        release(buffer);
+      }
+      onDispose.onError(throwable);
     }
 
     @Override
     protected void hookOnSubscribe(Subscription subscription) {
-      // no-op
+      parent.markReady();
     }
 
     @Override
     protected void hookOnNext(B value) {
-      if (buffer != null) {
-        try {
-          bufferHandler.dispose(value);
-        } catch (Exception ex) {
-          logger.warn("Failed to release buffer: {}", value, ex);
-        }
+      if (isDisposed()) {
+        release(value); // in-flight element of rejected publisher
+        return;
+      }
+      if (!queue.offer(value)) {
+        release(value);
         throw Exceptions.failWithOverflow(
             "PublisherProcessor is overrun by more signals than expected");
       }
-      buffer = value;
+      parent.markReady();
     }
 
     @Override
@@ -355,31 +702,120 @@ class MessagePublication implements OnDisposable, AeronResource {
 
     @Override
     protected void hookFinally(SignalType type) {
-      if (buffer == null) {
-        reset();
-      }
+      done = true;
+      parent.markReady();
+    }
+
+    boolean isTimeoutElapsed(Duration timeout) {
+      return parent.eventLoop.epochTime() - start > timeout.toMillis();
     }
 
-    long publish(B buffer) {
+    private void markStart() {
       if (start == 0) {
-        start = System.currentTimeMillis();
+        start = parent.eventLoop.epochTime();
       }
-      int length = bufferHandler.estimateLength(buffer);
-      return parent.publication.offer(bufferHandler.map(buffer, length));
     }
 
-    boolean isTimeoutElapsed(Duration timeout) {
-      return System.currentTimeMillis() - start > timeout.toMillis();
+    private void replenish() {
+      if (++produced == limit) {
+        produced = 0;
+        request(limit);
+      }
+    }
+
+    /**
+     * Moves pending elements into batch frame while they fit into it. Doesn't start a batch for a
+     * lone element unless linger is configured, such element goes as plain frame.
+     */
+    private void stage() {
+      if (batchCount == 0 && parent.coalescingLingerNs == 0 && queue.size() < 2) {
+        return;
+      }
+
+      B buffer;
+      while ((buffer = queue.peek()) != null) {
+        int length = bufferHandler.estimateLength(buffer);
+        int offset = batchLength + MessageFrames.LENGTH_FIELD_LENGTH;
+        if (offset + length > parent.maxPayloadLength) {
+          return;
+        }
+
+        if (batchBuffer == null) {
+          batchBuffer = new UnsafeBuffer(new byte[parent.maxPayloadLength]);
+        }
+
+        batchBuffer.putInt(batchLength, length);
+        if (claimingBufferHandler != null) {
+          claimingBufferHandler.write(buffer, batchBuffer, offset);
+        } else {
+          batchBuffer.putBytes(offset, bufferHandler.map(buffer, length), 0, length);
+        }
+
+        if (batchCount++ == 0 && parent.coalescingLingerNs > 0) {
+          batchStartNs = parent.eventLoop.nanoTime();
+        }
+        batchLength = offset + length;
+
+        queue.poll();
+        release(buffer);
+        replenish();
+      }
+    }
+
+    /**
+     * Fails this processor alone on a message which can't be offered at all, publication and other
+     * processors keep going. Pending elements are released, {@link #tryComplete()} signals the
+     * error.
+     */
+    private void rejectOversized(int length) {
+      logger.warn(
+          "Message length {} exceeds max message length {}, {}",
+          length,
+          parent.maxMessageLength,
+          parent);
+      error =
+          AeronExceptions.failWithPublication(
+              "Message length "
+                  + length
+                  + " exceeds max message length "
+                  + parent.maxMessageLength);
+      cancel();
+      B buffer;
+      while ((buffer = queue.poll()) != null) {
+        release(buffer);
+      }
+      done = true;
+    }
+
+    private boolean isLingering() {
+      return parent.coalescingLingerNs > 0
+          && !done
+          && queue.isEmpty()
+          && parent.eventLoop.nanoTime() - batchStartNs < parent.coalescingLingerNs;
+    }
+
+    private long claimAndWrite(B buffer, int length) {
+      BufferClaim bufferClaim = parent.bufferClaim;
+      long r = parent.claimPublication.tryClaim(length, bufferClaim);
+      if (r > 0) {
+        try {
+          claimingBufferHandler.write(buffer, bufferClaim.buffer(), bufferClaim.offset());
+          bufferClaim.reservedValue(MessageFrames.PLAIN_FRAME);
+          bufferClaim.commit();
+        } catch (Exception ex) {
+          bufferClaim.abort();
+          throw Exceptions.propagate(ex);
+        }
+      }
+      return r;
     }
 
-    private void resetBuffer() {
-      B oldBuffer = buffer;
-      buffer = null;
-      if (oldBuffer != null) {
+    private void release(B buffer) {
+      if (buffer != null) {
         try {
-          bufferHandler.dispose(oldBuffer);
+          bufferHandler.dispose(buffer);
         } catch (Exception ex) {
-          logger.warn("Failed to release buffer: {}", oldBuffer, ex);
+          logger.warn("Failed to release buffer: {}", buffer, ex);
         }
       }
     }
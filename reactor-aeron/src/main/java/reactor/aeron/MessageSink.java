@@ -0,0 +1,111 @@
+package reactor.aeron;
+
+import io.aeron.Publication;
+import io.aeron.ReservedValueSupplier;
+import org.agrona.DirectBuffer;
+
+/**
+ * Destination of frames drained by {@link MessagePublication}: either aeron {@link Publication} or
+ * in-JVM {@link LoopbackChannel}. Follows the subset of {@code Publication} contract message
+ * publication relies on, including negative offer results ({@link Publication#BACK_PRESSURED},
+ * {@link Publication#NOT_CONNECTED} etc.), so that timeouts apply the same way for both. Frames
+ * are claimed in place only on aeron publication, see {@link MessagePublication}.
+ */
+interface MessageSink {
+
+  /**
+   * Wraps aeron publication.
+   *
+   * @param publication aeron publication
+   * @return message sink
+   */
+  static MessageSink of(Publication publication) {
+    return new PublicationSink(publication);
+  }
+
+  /**
+   * See {@link Publication#offer(DirectBuffer, int, int, ReservedValueSupplier)}.
+   *
+   * @param buffer buffer containing frame
+   * @param offset offset of the frame in the buffer
+   * @param length length of the frame
+   * @param frameSupplier supplier of frame marking, see {@link MessageFrames}
+   * @return new position if positive, otherwise one of {@code Publication} result codes
+   */
+  long offer(DirectBuffer buffer, int offset, int length, ReservedValueSupplier frameSupplier);
+
+  /**
+   * Returns max length of single frame.
+   *
+   * @return max frame length
+   */
+  int maxPayloadLength();
+
+  /**
+   * Returns max length of single message, possibly fragmented into several frames. Longer messages
+   * are rejected by {@link #offer(DirectBuffer, int, int, ReservedValueSupplier)} with exception.
+   *
+   * @return max message length
+   */
+  int maxMessageLength();
+
+  int sessionId();
+
+  boolean isConnected();
+
+  boolean isClosed();
+
+  String channel();
+
+  void close();
+
+  final class PublicationSink implements MessageSink {
+
+    private final Publication publication;
+
+    private PublicationSink(Publication publication) {
+      this.publication = publication;
+    }
+
+    @Override
+    public long offer(
+        DirectBuffer buffer, int offset, int length, ReservedValueSupplier frameSupplier) {
+      return publication.offer(buffer, offset, length, frameSupplier);
+    }
+
+    @Override
+    public int maxPayloadLength() {
+      return publication.maxPayloadLength();
+    }
+
+    @Override
+    public int maxMessageLength() {
+      return publication.maxMessageLength();
+    }
+
+    @Override
+    public int sessionId() {
+      return publication.sessionId();
+    }
+
+    @Override
+    public boolean isConnected() {
+      return publication.isConnected();
+    }
+
+    @Override
+    public boolean isClosed() {
+      return publication.isClosed();
+    }
+
+    @Override
+    public String channel() {
+      return publication.channel();
+    }
+
+    @Override
+    public void close() {
+      publication.close();
+    }
+  }
+}
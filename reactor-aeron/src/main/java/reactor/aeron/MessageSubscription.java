@@ -27,6 +27,11 @@ class MessageSubscription implements OnDisposable, AeronResource {
     this.eventLoop = eventLoop;
   }
 
+  @Override
+  public AeronEventLoop eventLoop() {
+    return eventLoop;
+  }
+
   @Override
   public void close() {
     if (!eventLoop.inEventLoop()) {
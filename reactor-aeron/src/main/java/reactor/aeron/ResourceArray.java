@@ -0,0 +1,91 @@
+package reactor.aeron;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Array of resources with O(1) add, remove and lookup, kept dense for iteration by index. Removal
+ * moves the last element into the freed slot, so order of elements is not preserved. Not thread
+ * safe, owned by {@link AeronEventLoop}.
+ *
+ * @param <T> resource type
+ */
+final class ResourceArray<T> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Map<T, Integer> indexes = new IdentityHashMap<>();
+  private Object[] elements = new Object[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Adds element if it's not in the array yet.
+   *
+   * @param element element
+   * @return {@code true} if element was added, {@code false} if it was there already
+   */
+  boolean add(T element) {
+    if (indexes.containsKey(element)) {
+      return false;
+    }
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, size << 1);
+    }
+    elements[size] = element;
+    indexes.put(element, size);
+    size++;
+    return true;
+  }
+
+  /**
+   * Removes element, the last element takes its place.
+   *
+   * @param element element
+   * @return {@code true} if element was removed, {@code false} if it was not in the array
+   */
+  boolean remove(T element) {
+    Integer index = indexes.remove(element);
+    if (index == null) {
+      return false;
+    }
+    int last = --size;
+    if (index != last) {
+      @SuppressWarnings("unchecked")
+      T moved = (T) elements[last];
+      elements[index] = moved;
+      indexes.put(moved, index);
+    }
+    elements[last] = null;
+    return true;
+  }
+
+  boolean contains(T element) {
+    return indexes.containsKey(element);
+  }
+
+  @SuppressWarnings("unchecked")
+  T get(int index) {
+    return (T) elements[index];
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    Arrays.fill(elements, 0, size, null);
+    indexes.clear();
+    size = 0;
+  }
+
+  List<T> toList() {
+    List<T> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(get(i));
+    }
+    return list;
+  }
+}
@@ -0,0 +1,82 @@
+package reactor.aeron;
+
+/**
+ * Immutable snapshot of event loop time spent on a single resource (inbound or publication of a
+ * connection) during last reporting interval. Collected only when resource accounting is on, see
+ * {@link AeronResources#resourceAccounting(boolean)}.
+ */
+public final class ResourceUsage {
+
+  private final String resource;
+  private final String eventLoop;
+  private final long cpuTime;
+  private final long messages;
+  private final long bytes;
+
+  ResourceUsage(String resource, String eventLoop, long cpuTime, long messages, long bytes) {
+    this.resource = resource;
+    this.eventLoop = eventLoop;
+    this.cpuTime = cpuTime;
+    this.messages = messages;
+    this.bytes = bytes;
+  }
+
+  /**
+   * Returns description of the resource.
+   *
+   * @return resource description
+   */
+  public String resource() {
+    return resource;
+  }
+
+  /**
+   * Returns name of event loop which serviced the resource.
+   *
+   * @return event loop name
+   */
+  public String eventLoop() {
+    return eventLoop;
+  }
+
+  /**
+   * Returns time event loop has spent in polling or publishing of the resource (including user
+   * handlers run on event loop), in nanos.
+   *
+   * @return time spent on the resource, in nanos
+   */
+  public long cpuTime() {
+    return cpuTime;
+  }
+
+  /**
+   * Returns number of fragments polled (for inbound) or messages published (for publication).
+   *
+   * @return number of fragments or messages
+   */
+  public long messages() {
+    return messages;
+  }
+
+  /**
+   * Returns number of bytes polled (for inbound) or offered (for publication).
+   *
+   * @return number of bytes
+   */
+  public long bytes() {
+    return bytes;
+  }
+
+  @Override
+  public String toString() {
+    return resource
+        + " on "
+        + eventLoop
+        + ": cpuTime="
+        + cpuTime
+        + "ns, messages="
+        + messages
+        + ", bytes="
+        + bytes;
+  }
+}
@@ -1,45 +1,75 @@
 package reactor.aeron;
 
+import java.util.Collections;
+import java.util.List;
+
 final class WorkerFlightRecorder implements WorkerMBean {
 
-  private static final int REPORT_INTERVAL = 1000;
+  static final int REPORT_INTERVAL = 1000;
+
+  // number of the most expensive resources exposed via jmx
+  static final int TOP_RESOURCES = 10;
+
+  private static final long[] NO_DURATIONS = new long[4];
 
-  private long reportTime;
+  private final AdaptiveIdleStrategy adaptiveIdleStrategy;
 
-  private long ticks;
-  private long workCount;
-  private long idleCount;
-  private double outboundRate;
-  private double inboundRate;
-  private double idleRate;
+  // reported values, written by event loop thread and read by jmx thread
+  private volatile long ticks;
+  private volatile long workCount;
+  private volatile long idleCount;
+  private volatile double outboundRate;
+  private volatile double inboundRate;
+  private volatile double idleRate;
+  private volatile long commandCount;
+  private volatile int commandQueueDepth;
+  private volatile long idleStateTransitions;
+  private volatile long stallCount; // written by watchdog thread only
+  private volatile long migrationCount; // written by event loop thread only
+  private volatile long[] tickDurations = NO_DURATIONS;
+  private volatile long[] commandDurations = NO_DURATIONS;
+  private volatile long[] outboundDurations = NO_DURATIONS;
+  private volatile long[] inboundDurations = NO_DURATIONS;
+  private volatile List<ResourceUsage> resourceUsage = Collections.emptyList();
+
+  // duration histograms of last reporting interval, accessed by event loop thread only
+  private final DurationHistogram tickHistogram = new DurationHistogram();
+  private final DurationHistogram commandHistogram = new DurationHistogram();
+  private final DurationHistogram outboundHistogram = new DurationHistogram();
+  private final DurationHistogram inboundHistogram = new DurationHistogram();
 
   long totalTickCount;
   long totalOutboundCount;
   long totalInboundCount;
   long totalIdleCount;
   long totalWorkCount;
+  long totalCommandCount;
+  int maxCommandQueueDepth;
 
   private long lastTotalTickCount;
   private long lastTotalOutboundCount;
   private long lastTotalInboundCount;
   private long lastTotalIdleCount;
   private long lastTotalWorkCount;
+  private long lastTotalCommandCount;
+  private long lastTotalIdleStateTransitions;
 
-  void start() {
-    reportTime = System.currentTimeMillis() + REPORT_INTERVAL;
+  /**
+   * Constructor.
+   *
+   * @param adaptiveIdleStrategy idle strategy of event loop if it's adaptive one, or {@code null}
+   */
+  WorkerFlightRecorder(AdaptiveIdleStrategy adaptiveIdleStrategy) {
+    this.adaptiveIdleStrategy = adaptiveIdleStrategy;
   }
 
   /**
-   * Make reporting if it's time for it. For details see method: {@link #processReporting(long,
-   * long, long, long, long)}
+   * Makes reporting, supposed to be called every {@link #REPORT_INTERVAL} millis. For details see
+   * method: {@link #processReporting(long, long, long, long, long)}
    */
-  void tryReport() {
-    long currentTime = System.currentTimeMillis();
-    if (currentTime >= reportTime) {
-      reportTime = currentTime + REPORT_INTERVAL;
-      processReporting(
-          totalTickCount, totalOutboundCount, totalInboundCount, totalIdleCount, totalWorkCount);
-    }
+  void report() {
+    processReporting(
+        totalTickCount, totalOutboundCount, totalInboundCount, totalIdleCount, totalWorkCount);
   }
 
   @Override
@@ -57,6 +87,65 @@ final class WorkerFlightRecorder implements WorkerMBean {
     return idleCount;
   }
 
+  @Override
+  public long getCommandCount() {
+    return commandCount;
+  }
+
+  @Override
+  public int getCommandQueueDepth() {
+    return commandQueueDepth;
+  }
+
+  @Override
+  public String getIdleState() {
+    return adaptiveIdleStrategy != null ? adaptiveIdleStrategy.state().name() : null;
+  }
+
+  @Override
+  public long getIdleStateTransitions() {
+    return idleStateTransitions;
+  }
+
+  @Override
+  public long getStallCount() {
+    return stallCount;
+  }
+
+  @Override
+  public long getMigrationCount() {
+    return migrationCount;
+  }
+
+  @Override
+  public long[] getTickDurations() {
+    return tickDurations.clone();
+  }
+
+  @Override
+  public long[] getCommandDurations() {
+    return commandDurations.clone();
+  }
+
+  @Override
+  public long[] getOutboundDurations() {
+    return outboundDurations.clone();
+  }
+
+  @Override
+  public long[] getInboundDurations() {
+    return inboundDurations.clone();
+  }
+
+  @Override
+  public String[] getTopResources() {
+    List<ResourceUsage> resourceUsage = this.resourceUsage;
+    return resourceUsage.stream()
+        .limit(TOP_RESOURCES)
+        .map(ResourceUsage::toString)
+        .toArray(String[]::new);
+  }
+
   @Override
   public double getOutboundRate() {
     return outboundRate;
@@ -85,12 +174,75 @@ final class WorkerFlightRecorder implements WorkerMBean {
     outboundRate = (double) (totalOutboundCount - lastTotalOutboundCount) / ticks;
     inboundRate = (double) (totalInboundCount - lastTotalInboundCount) / ticks;
     idleRate = (double) (totalIdleCount - lastTotalIdleCount) / ticks;
+    commandCount = totalCommandCount - lastTotalCommandCount;
+    commandQueueDepth = maxCommandQueueDepth;
+    maxCommandQueueDepth = 0;
+    if (adaptiveIdleStrategy != null) {
+      long totalIdleStateTransitions = adaptiveIdleStrategy.transitions();
+      idleStateTransitions = totalIdleStateTransitions - lastTotalIdleStateTransitions;
+      lastTotalIdleStateTransitions = totalIdleStateTransitions;
+    }
+    tickDurations = durations(tickHistogram);
+    commandDurations = durations(commandHistogram);
+    outboundDurations = durations(outboundHistogram);
+    inboundDurations = durations(inboundHistogram);
 
     lastTotalTickCount = totalTickCount;
     lastTotalWorkCount = totalWorkCount;
     lastTotalIdleCount = totalIdleCount;
     lastTotalOutboundCount = totalOutboundCount;
     lastTotalInboundCount = totalInboundCount;
+    lastTotalCommandCount = totalCommandCount;
+  }
+
+  private static long[] durations(DurationHistogram histogram) {
+    long[] durations = {
+      histogram.valueAtPercentile(50),
+      histogram.valueAtPercentile(99),
+      histogram.valueAtPercentile(99.9),
+      histogram.maxValue()
+    };
+    histogram.reset();
+    return durations;
+  }
+
+  List<ResourceUsage> resourceUsage() {
+    return resourceUsage;
+  }
+
+  /**
+   * Publishes usage of resources for the last reporting interval.
+   *
+   * @param resourceUsage resource usage sorted by time spent, the most expensive first
+   */
+  void reportResourceUsage(List<ResourceUsage> resourceUsage) {
+    this.resourceUsage = Collections.unmodifiableList(resourceUsage);
+  }
+
+  void recordTickDuration(long durationNs) {
+    tickHistogram.record(durationNs);
+  }
+
+  void recordCommandDuration(long durationNs) {
+    commandHistogram.record(durationNs);
+  }
+
+  void recordOutboundDuration(long durationNs) {
+    outboundHistogram.record(durationNs);
+  }
+
+  void recordInboundDuration(long durationNs) {
+    inboundHistogram.record(durationNs);
+  }
+
+  @SuppressWarnings("NonAtomicOperationOnVolatileField")
+  void countStall() {
+    stallCount++;
+  }
+
+  @SuppressWarnings("NonAtomicOperationOnVolatileField")
+  void countMigration() {
+    migrationCount++;
   }
 
   void countTick() {
@@ -112,4 +264,14 @@ final class WorkerFlightRecorder implements WorkerMBean {
   void countWork(int c) {
     totalWorkCount += c;
   }
+
+  void countCommands(int c) {
+    totalCommandCount += c;
+  }
+
+  void recordCommandQueueDepth(int depth) {
+    if (depth > maxCommandQueueDepth) {
+      maxCommandQueueDepth = depth;
+    }
+  }
 }
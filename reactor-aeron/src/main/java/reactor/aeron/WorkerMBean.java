@@ -27,6 +27,93 @@ public interface WorkerMBean {
    */
   long getIdleCount();
 
+  /**
+   * Returns number of commands (resource registration, disposal, etc.) processed per last second.
+   *
+   * @return number of commands processed per last second
+   */
+  long getCommandCount();
+
+  /**
+   * Returns max number of commands found waiting in the queue per last second.
+   *
+   * @return max command queue depth per last second
+   */
+  int getCommandQueueDepth();
+
+  /**
+   * Returns current state of {@link AdaptiveIdleStrategy} (spinning, yielding or parking).
+   *
+   * @return idle state, or {@code null} if event loop doesn't use {@link AdaptiveIdleStrategy}
+   */
+  String getIdleState();
+
+  /**
+   * Returns number of {@link AdaptiveIdleStrategy} state transitions per last second.
+   *
+   * @return number of idle state transitions per last second
+   */
+  long getIdleStateTransitions();
+
+  /**
+   * Returns total number of stalls detected by watchdog, i.e. how many times event loop has made
+   * no progress for longer than stall threshold (see {@link
+   * AeronResources#stallThreshold(java.time.Duration)}).
+   *
+   * @return total number of stalls
+   */
+  long getStallCount();
+
+  /**
+   * Returns total number of connections moved to this event loop by rebalancing (see {@link
+   * AeronResources#rebalanceInterval(java.time.Duration)}).
+   *
+   * @return total number of connections moved in
+   */
+  long getMigrationCount();
+
+  /**
+   * Returns durations of event loop tick (commands, outbound, inbound, timers) per last second:
+   * p50, p99, p99.9 and max, in nanos.
+   *
+   * @return array of tick durations: p50, p99, p99.9, max
+   */
+  long[] getTickDurations();
+
+  /**
+   * Returns durations of processing commands within a tick (counted only for ticks with commands
+   * pending) per last second: p50, p99, p99.9 and max, in nanos.
+   *
+   * @return array of command processing durations: p50, p99, p99.9, max
+   */
+  long[] getCommandDurations();
+
+  /**
+   * Returns durations of outbound work (offers to publications) within a tick (counted only for
+   * ticks with messages published) per last second: p50, p99, p99.9 and max, in nanos.
+   *
+   * @return array of outbound durations: p50, p99, p99.9, max
+   */
+  long[] getOutboundDurations();
+
+  /**
+   * Returns durations of inbound work (polling images, including user handlers run on event loop)
+   * within a tick (counted only for ticks with fragments received) per last second: p50, p99,
+   * p99.9 and max, in nanos.
+   *
+   * @return array of inbound durations: p50, p99, p99.9, max
+   */
+  long[] getInboundDurations();
+
+  /**
+   * Returns the most expensive resources (inbounds and publications) of event loop per last
+   * second, sorted by time spent on them. Collected only when resource accounting is on (see
+   * {@link AeronResources#resourceAccounting(boolean)}).
+   *
+   * @return descriptions of the most expensive resources, empty if resource accounting is off
+   */
+  String[] getTopResources();
+
   /**
    * Returns amount of outbound work done per one tick.
    *
@@ -0,0 +1,31 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveIdleStrategyTest {
+
+  @Test
+  void testDegradesToParkingWhenQuietAndSpinsOnWork() throws Exception {
+    AdaptiveIdleStrategy idleStrategy =
+        new AdaptiveIdleStrategy(
+            Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofNanos(1), Duration.ofMillis(1));
+
+    idleStrategy.idle(0);
+    assertEquals(AdaptiveIdleStrategy.State.SPINNING, idleStrategy.state());
+
+    Thread.sleep(2);
+    idleStrategy.idle(0);
+    assertEquals(AdaptiveIdleStrategy.State.YIELDING, idleStrategy.state());
+
+    Thread.sleep(2);
+    idleStrategy.idle(0);
+    assertEquals(AdaptiveIdleStrategy.State.PARKING, idleStrategy.state());
+
+    idleStrategy.idle(1);
+    assertEquals(AdaptiveIdleStrategy.State.SPINNING, idleStrategy.state());
+    assertEquals(3, idleStrategy.transitions());
+  }
+}
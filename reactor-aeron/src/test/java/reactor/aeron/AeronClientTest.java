@@ -1,6 +1,7 @@
 package reactor.aeron;
 
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.aeron.driver.Configuration;
 import java.time.Duration;
@@ -10,7 +11,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -132,6 +138,165 @@ class AeronClientTest extends BaseAeronTest {
         .verify();
   }
 
+  @Test
+  public void testClientReceivesBatchesFromServer200000() {
+    int count = 200_000;
+    Flux<String> payloads = Flux.range(0, count).map(String::valueOf);
+
+    createServer(
+        connection -> connection.outbound().sendString(payloads).then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receiveBatches()
+                .concatMapIterable(
+                    batch -> {
+                      List<DirectBuffer> buffers = new ArrayList<>(batch.size());
+                      for (int i = 0; i < batch.size(); i++) {
+                        buffers.add(batch.copy(i));
+                      }
+                      return buffers;
+                    })
+                .map(buffer -> buffer.getStringWithoutLengthUtf8(0, buffer.capacity()))
+                .take(count))
+        .expectNextSequence(
+            IntStream.range(0, count).mapToObj(String::valueOf).collect(Collectors.toList()))
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testTwoClientsReceiveOrderedDataWhileRebalancing() {
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    resources =
+        new AeronResources()
+            .useTmpDir()
+            .numOfWorkers(2)
+            .rebalanceInterval(Duration.ofMillis(20))
+            .start()
+            .block();
+
+    int count = 200_000;
+    List<String> expected =
+        IntStream.range(0, count).mapToObj(String::valueOf).collect(Collectors.toList());
+
+    ReplayProcessor<AeronConnection> serverConnections = ReplayProcessor.create();
+
+    // sticky placement puts all connections on one event loop, rebalancer has to spread them
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(options -> options.eventLoopPlacement(EventLoopPlacement.sticky()))
+        .handle(
+            connection -> {
+              serverConnections.onNext(connection);
+              return connection
+                  .outbound()
+                  .sendString(Flux.fromIterable(expected))
+                  .then(connection.onDispose());
+            })
+        .bind()
+        .block(TIMEOUT);
+
+    List<AeronConnection> connections =
+        Flux.range(0, 2)
+            .map(
+                i ->
+                    AeronClient.create(resources)
+                        .options("localhost", serverPort, serverControlPort)
+                        .options(
+                            options -> options.eventLoopPlacement(EventLoopPlacement.sticky()))
+                        .connect()
+                        .block(TIMEOUT))
+            .collectList()
+            .block(TIMEOUT);
+
+    Flux.fromIterable(connections)
+        .flatMap(
+            connection ->
+                connection.inbound().receive().asString().take(count).collectList(), 2)
+        .as(StepVerifier::create)
+        .expectNext(expected, expected)
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    connections.addAll(serverConnections.take(2).collectList().block(TIMEOUT));
+    List<AeronEventLoop> eventLoops =
+        connections.stream()
+            .map(connection -> ((DuplexAeronConnection) connection).eventLoop())
+            .distinct()
+            .collect(Collectors.toList());
+    // some connection has been moved, event loop which took it last still serves it
+    assertTrue(
+        eventLoops.stream().mapToLong(AeronEventLoop::migrationCount).sum() > 0,
+        "no connection has been moved by rebalancer");
+  }
+
+  @Test
+  public void testClientReceivesOrderedDataFromServerWithOutboundPrefetch() {
+    int count = 200_000;
+    Flux<String> payloads = Flux.range(0, count).map(String::valueOf);
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(options -> options.outboundPrefetch(32))
+        .handle(
+            connection -> connection.outbound().sendString(payloads).then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection1 = createConnection();
+
+    StepVerifier.create(connection1.inbound().receive().asString().map(Integer::valueOf))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  public void testClientReceivesDataFromServerSentWithClaimingBufferHandler() {
+    char[] chars = new char[Configuration.mtuLength() * 2];
+    Arrays.fill(chars, 'a');
+    String longStr = new String(chars);
+
+    ClaimingBufferHandler<String> bufferHandler =
+        new ClaimingBufferHandler<String>() {
+          @Override
+          public int estimateLength(String buffer) {
+            return buffer.length();
+          }
+
+          @Override
+          public void write(String buffer, MutableDirectBuffer dstBuffer, int offset) {
+            dstBuffer.putStringWithoutLengthAscii(offset, buffer);
+          }
+
+          @Override
+          public void dispose(String buffer) {
+            // no-op
+          }
+        };
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(Flux.just("hello1", longStr, "3").log("server"), bufferHandler)
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(connection.inbound().receive().asString().log("client"))
+        .expectNext("hello1", longStr, "3")
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify();
+  }
+
   @Test
   public void testRequestResponse200000() {
     int count = 200_000;
@@ -153,6 +318,297 @@ class AeronClientTest extends BaseAeronTest {
         .verify();
   }
 
+  @Test
+  public void testRequestResponse200000WithCoalescing() {
+    int count = 200_000;
+    UnaryOperator<AeronOptions> coalescing =
+        options -> options.outboundPrefetch(64).outboundCoalescing(true);
+    ReplayProcessor<AeronConnection> serverConnections = ReplayProcessor.create();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(coalescing)
+        .handle(
+            connection -> {
+              serverConnections.onNext(connection);
+              return connection
+                  .outbound()
+                  .send(connection.inbound().receive())
+                  .then(connection.onDispose());
+            })
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection1 =
+        AeronClient.create(resources)
+            .options("localhost", serverPort, serverControlPort)
+            .options(coalescing)
+            .connect()
+            .block(TIMEOUT);
+
+    connection1.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection1.inbound().receive().asString().map(Integer::valueOf))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify();
+
+    assertCoalesced(connection1);
+    assertCoalesced(serverConnections.blockFirst(TIMEOUT));
+  }
+
+  @Test
+  public void testServerPushWithCoalescing() {
+    int count = 200_000;
+    ReplayProcessor<AeronConnection> serverConnections = ReplayProcessor.create();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(options -> options.outboundPrefetch(64).outboundCoalescing(true))
+        .handle(
+            connection -> {
+              serverConnections.onNext(connection);
+              return connection
+                  .outbound()
+                  .sendString(Flux.range(0, count).map(String::valueOf))
+                  .then(connection.onDispose());
+            })
+        .bind()
+        .block(TIMEOUT);
+
+    // client never sends anything, it answers first marked frame of the server with setup frame
+    AeronConnection connection1 = createConnection();
+
+    StepVerifier.create(connection1.inbound().receive().asString().map(Integer::valueOf))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify();
+
+    assertCoalesced(serverConnections.blockFirst(TIMEOUT));
+  }
+
+  @Test
+  public void testRequestResponse200000WithScanAllPublications() {
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    resources =
+        new AeronResources().useTmpDir().singleWorker().scanAllPublications(true).start().block();
+
+    int count = 200_000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(connection.inbound().receive())
+                .then(connection.onDispose()));
+
+    AeronConnection connection1 = createConnection();
+
+    connection1.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection1.inbound().receive().asString())
+        .expectNextCount(count)
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  public void testRequestResponse200000WithConductorAgentInvoker() {
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    resources =
+        new AeronResources()
+            .useTmpDir()
+            .singleWorker()
+            .useConductorAgentInvoker(true)
+            .start()
+            .block();
+
+    int count = 200_000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(connection.inbound().receive())
+                .then(connection.onDispose()));
+
+    AeronConnection connection1 = createConnection();
+
+    connection1.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection1.inbound().receive().asString())
+        .expectNextCount(count)
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  public void testRequestResponse200000WithSplitInboundOutbound() {
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    resources =
+        new AeronResources()
+            .useTmpDir()
+            .singleWorker()
+            .splitInboundOutbound(true)
+            .start()
+            .block();
+
+    int count = 200_000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(connection.inbound().receive())
+                .then(connection.onDispose()));
+
+    AeronConnection connection1 = createConnection();
+
+    connection1.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection1.inbound().receive().asString())
+        .expectNextCount(count)
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  public void testRequestResponseOverIpc() {
+    int streamId = 0x1000;
+    int responseStreamId = 0x2000;
+    int count = 10_000;
+
+    AeronServer.create(resources)
+        .ipcOptions(streamId, responseStreamId)
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .send(connection.inbound().receive())
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection =
+        AeronClient.create(resources)
+            .ipcOptions(streamId, responseStreamId)
+            .connect()
+            .block(TIMEOUT);
+
+    connection.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection.inbound().receive().asString())
+        .expectNextCount(count)
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testIpcServerRejectsResponseStreamSameAsRequestStream() {
+    StepVerifier.create(AeronServer.create(resources).ipcOptions(0x1000, 0x1000).bind())
+        .expectError(IllegalArgumentException.class)
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testIpcServerRejectsResponseStreamOverlappingAcceptorShards() {
+    StepVerifier.create(
+            AeronServer.create(resources)
+                .ipcOptions(0x1000, 0x1001)
+                .options(options -> options.acceptorShards(2))
+                .bind())
+        .expectError(IllegalArgumentException.class)
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testResourceAccountingReportsTopResources() {
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    resources =
+        new AeronResources().useTmpDir().singleWorker().resourceAccounting(true).start().block();
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(connection.inbound().receive())
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    connection
+        .outbound()
+        .sendString(Flux.interval(Duration.ofMillis(1)).map(String::valueOf))
+        .then()
+        .subscribe();
+
+    StepVerifier.create(
+            Flux.interval(Duration.ofMillis(100))
+                .map(i -> resources.topResources(3))
+                .filter(usage -> !usage.isEmpty())
+                .take(1))
+        .assertNext(
+            usage -> {
+              assertTrue(usage.size() <= 3);
+              assertTrue(usage.get(0).cpuTime() > 0, usage.toString());
+              assertTrue(
+                  usage.stream().anyMatch(u -> u.messages() > 0 && u.bytes() > 0),
+                  usage.toString());
+            })
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientReceivesDataSentAfterPublicationGotIdle() {
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(
+                    Flux.just("1", "2", "3").delayElements(Duration.ofMillis(100)).log("server"))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    StepVerifier.create(connection.inbound().receive().asString().log("client"))
+        .expectNext("1", "2", "3")
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientPublishesOnEventLoopScheduler() {
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.just("1", "2", "3").log("server"))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    Scheduler scheduler = resources.eventLoopScheduler(connection);
+    // event loop which offers to publication of the connection
+    AeronEventLoop eventLoop = ((DuplexAeronConnection) connection).eventLoop();
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receive()
+                .asString()
+                .publishOn(scheduler)
+                .map(s -> s + "@" + eventLoop.inEventLoop()))
+        .expectNext("1@true", "2@true", "3@true")
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
   @Test
   public void testRequestResponse200000MonoJust() {
     int count = 200_000;
@@ -474,6 +930,17 @@ class AeronClientTest extends BaseAeronTest {
         .verify(timeout);
   }
 
+  private static void assertCoalesced(AeronConnection connection) {
+    MessagePublication publication = ((DefaultAeronOutbound) connection.outbound()).publication();
+    assertTrue(
+        publication.frameCount() < publication.workCount(),
+        "no batch frames: "
+            + publication.frameCount()
+            + " frames for "
+            + publication.workCount()
+            + " messages");
+  }
+
   private AeronConnection createConnection() {
     return createConnection(null /*handler*/);
   }
@@ -0,0 +1,285 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.concurrent.AgentInvoker;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+class AeronEventLoopTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private AeronEventLoop eventLoop;
+
+  @BeforeEach
+  void beforeEach() {
+    eventLoop =
+        new AeronEventLoop(
+            "test-event-loop", 0, System.identityHashCode(this), new BackoffIdleStrategy());
+  }
+
+  @AfterEach
+  void afterEach() {
+    eventLoop.dispose();
+    eventLoop.onDispose().block(TIMEOUT);
+  }
+
+  @Test
+  void testScheduledTaskRunsOnEventLoop() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicBoolean inEventLoop = new AtomicBoolean();
+
+    eventLoop.schedule(
+        () -> {
+          inEventLoop.set(eventLoop.inEventLoop());
+          latch.countDown();
+        },
+        50,
+        TimeUnit.MILLISECONDS);
+
+    assertTrue(latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    assertTrue(inEventLoop.get());
+  }
+
+  @Test
+  void testDisposedTimerDoesNotRun() throws Exception {
+    AtomicBoolean cancelledRun = new AtomicBoolean();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    Disposable timer =
+        eventLoop.schedule(() -> cancelledRun.set(true), 100, TimeUnit.MILLISECONDS);
+    timer.dispose();
+    eventLoop.schedule(latch::countDown, 300, TimeUnit.MILLISECONDS);
+
+    assertTrue(latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    assertFalse(cancelledRun.get());
+  }
+
+  @Test
+  void testAwaitRegistrationPollsUntilRegistered() {
+    AtomicInteger polls = new AtomicInteger();
+    AutoCloseable registered = () -> {};
+
+    StepVerifier.create(
+            eventLoop.awaitRegistration(() -> polls.incrementAndGet() < 3 ? null : registered))
+        .expectNext(registered)
+        .expectComplete()
+        .verify(TIMEOUT);
+    assertEquals(3, polls.get());
+
+    StepVerifier.create(
+            eventLoop.awaitRegistration(
+                () -> {
+                  throw new IllegalStateException("registration failed");
+                }))
+        .expectError(IllegalStateException.class)
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  void testCancelledRegistrationIsClosed() throws Exception {
+    AtomicInteger polls = new AtomicInteger();
+    AtomicBoolean ready = new AtomicBoolean();
+    CountDownLatch closed = new CountDownLatch(1);
+
+    Disposable subscription =
+        eventLoop
+            .<AutoCloseable>awaitRegistration(
+                () -> {
+                  polls.incrementAndGet();
+                  return ready.get() ? closed::countDown : null;
+                })
+            .subscribe();
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (polls.get() == 0 && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+    subscription.dispose();
+    ready.set(true);
+
+    assertTrue(closed.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testCancelledAwaitingStopsPolling() throws Exception {
+    AtomicInteger polls = new AtomicInteger();
+
+    StepVerifier.create(eventLoop.await(() -> polls.incrementAndGet() > 0 ? null : "", null))
+        .expectSubscription()
+        .expectNoEvent(Duration.ofMillis(50))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    // let event loop drop cancelled awaiter
+    CountDownLatch latch = new CountDownLatch(1);
+    assertTrue(eventLoop.execute(latch::countDown));
+    assertTrue(latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    int pollsAfterCancel = polls.get();
+    Thread.sleep(50);
+    assertEquals(pollsAfterCancel, polls.get());
+  }
+
+  @Test
+  void testEventLoopDrivenByAgentInvoker() {
+    AeronEventLoop invokedEventLoop =
+        new AeronEventLoop(
+            "test-invoked-event-loop",
+            0,
+            System.identityHashCode(this),
+            new BackoffIdleStrategy(),
+            false,
+            AeronEventLoop.DEFAULT_COMMAND_QUEUE_CAPACITY,
+            AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT,
+            true,
+            false);
+    AgentInvoker agentInvoker = invokedEventLoop.agentInvoker();
+    agentInvoker.start();
+
+    AtomicBoolean inEventLoop = new AtomicBoolean();
+    assertTrue(invokedEventLoop.execute(() -> inEventLoop.set(invokedEventLoop.inEventLoop())));
+    agentInvoker.invoke();
+    assertTrue(inEventLoop.get());
+
+    invokedEventLoop.dispose();
+    assertFalse(invokedEventLoop.isDisposed());
+    agentInvoker.invoke();
+    assertTrue(invokedEventLoop.isDisposed());
+    agentInvoker.close();
+  }
+
+  @Test
+  void testDisposalIsNotRejectedByFullCommandQueue() {
+    AeronEventLoop invokedEventLoop =
+        new AeronEventLoop(
+            "test-overrun-event-loop",
+            0,
+            System.identityHashCode(this),
+            new BackoffIdleStrategy(),
+            false,
+            4,
+            AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT,
+            true,
+            false);
+    AgentInvoker agentInvoker = invokedEventLoop.agentInvoker();
+    agentInvoker.start();
+
+    AtomicBoolean closed = new AtomicBoolean();
+    AeronResource resource =
+        new AeronResource() {
+          @Override
+          public AeronEventLoop eventLoop() {
+            return invokedEventLoop;
+          }
+
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+    invokedEventLoop.register(resource).subscribe();
+    agentInvoker.invoke();
+
+    while (invokedEventLoop.execute(() -> {})) {
+      // fill command queue up
+    }
+    AtomicBoolean disposed = new AtomicBoolean();
+    invokedEventLoop.dispose(resource).subscribe(null, th -> {}, () -> disposed.set(true));
+    StepVerifier.create(invokedEventLoop.register(resource))
+        .expectError(AeronExceptions.AeronEventLoopException.class)
+        .verify(TIMEOUT);
+
+    for (int i = 0; i < 10 && !disposed.get(); i++) {
+      agentInvoker.invoke();
+    }
+    assertTrue(closed.get());
+    assertTrue(disposed.get());
+
+    invokedEventLoop.dispose();
+    agentInvoker.invoke();
+    agentInvoker.close();
+  }
+
+  @Test
+  void testScheduleIsRejectedByFullCommandQueue() {
+    AeronEventLoop invokedEventLoop =
+        new AeronEventLoop(
+            "test-overrun-event-loop",
+            0,
+            System.identityHashCode(this),
+            new BackoffIdleStrategy(),
+            false,
+            4,
+            AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT,
+            true,
+            false);
+    AgentInvoker agentInvoker = invokedEventLoop.agentInvoker();
+    agentInvoker.start();
+
+    while (invokedEventLoop.execute(() -> {})) {
+      // fill command queue up
+    }
+    AtomicBoolean fired = new AtomicBoolean();
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> invokedEventLoop.schedule(() -> fired.set(true), 0, TimeUnit.MILLISECONDS));
+
+    for (int i = 0; i < 10; i++) {
+      agentInvoker.invoke();
+    }
+    assertFalse(fired.get());
+
+    invokedEventLoop.dispose();
+    agentInvoker.invoke();
+    agentInvoker.close();
+  }
+
+  @Test
+  void testEventLoopSchedulerRejectsTasksOnFullCommandQueue() {
+    AeronEventLoop invokedEventLoop =
+        new AeronEventLoop(
+            "test-overrun-event-loop",
+            0,
+            System.identityHashCode(this),
+            new BackoffIdleStrategy(),
+            false,
+            4,
+            AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT,
+            true,
+            false);
+    AgentInvoker agentInvoker = invokedEventLoop.agentInvoker();
+    agentInvoker.start();
+
+    while (invokedEventLoop.execute(() -> {})) {
+      // fill command queue up
+    }
+    Scheduler scheduler = new EventLoopScheduler(() -> invokedEventLoop);
+    Scheduler.Worker worker = scheduler.createWorker();
+    assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(() -> {}));
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> scheduler.schedule(() -> {}, 1, TimeUnit.MILLISECONDS));
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> worker.schedulePeriodically(() -> {}, 1, 1, TimeUnit.MILLISECONDS));
+
+    worker.dispose();
+    invokedEventLoop.dispose();
+    agentInvoker.invoke();
+    agentInvoker.close();
+  }
+}
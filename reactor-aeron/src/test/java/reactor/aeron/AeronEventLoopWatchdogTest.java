@@ -0,0 +1,109 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.AgentInvoker;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AeronEventLoopWatchdogTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration STALL_THRESHOLD = Duration.ofMillis(100);
+
+  private AeronEventLoopGroup eventLoopGroup;
+
+  @BeforeEach
+  void beforeEach() {
+    eventLoopGroup =
+        new AeronEventLoopGroup(
+            "test-watchdog",
+            1,
+            BackoffIdleStrategy::new,
+            false,
+            AeronEventLoop.DEFAULT_COMMAND_QUEUE_CAPACITY,
+            AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT,
+            false,
+            false,
+            false);
+  }
+
+  @AfterEach
+  void afterEach() {
+    eventLoopGroup.dispose();
+    eventLoopGroup.onDispose().block(TIMEOUT);
+  }
+
+  @Test
+  void testReportsStallOnceAndDetectsRecovery() throws Exception {
+    AeronEventLoop eventLoop = eventLoopGroup.first();
+    AeronEventLoopWatchdog watchdog = new AeronEventLoopWatchdog(eventLoopGroup, STALL_THRESHOLD);
+
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    assertTrue(
+        eventLoop.execute(
+            () -> {
+              started.countDown();
+              try {
+                release.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }));
+    assertTrue(started.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+    watchdog.run();
+    Thread.sleep(STALL_THRESHOLD.toMillis() * 2);
+    watchdog.run();
+    watchdog.run();
+    assertEquals(1, eventLoop.stallCount());
+
+    release.countDown();
+    CountDownLatch resumed = new CountDownLatch(1);
+    assertTrue(eventLoop.execute(resumed::countDown));
+    assertTrue(resumed.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+    watchdog.run();
+    Thread.sleep(STALL_THRESHOLD.toMillis() * 2);
+    watchdog.run();
+    assertEquals(1, eventLoop.stallCount());
+  }
+
+  @Test
+  void testSkipsEventLoopDrivenByAgentInvoker() throws Exception {
+    AeronEventLoopGroup invokedGroup =
+        new AeronEventLoopGroup(
+            "test-watchdog-invoked",
+            1,
+            BackoffIdleStrategy::new,
+            false,
+            AeronEventLoop.DEFAULT_COMMAND_QUEUE_CAPACITY,
+            AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT,
+            true,
+            false,
+            false);
+    AeronEventLoop eventLoop = invokedGroup.first();
+    AgentInvoker agentInvoker = eventLoop.agentInvoker();
+    agentInvoker.start();
+    agentInvoker.invoke();
+
+    AeronEventLoopWatchdog watchdog = new AeronEventLoopWatchdog(invokedGroup, STALL_THRESHOLD);
+
+    // caller invokes less often than stall threshold
+    watchdog.run();
+    Thread.sleep(STALL_THRESHOLD.toMillis() * 2);
+    watchdog.run();
+    assertEquals(0, eventLoop.stallCount());
+
+    invokedGroup.dispose();
+    agentInvoker.invoke();
+    agentInvoker.close();
+  }
+}
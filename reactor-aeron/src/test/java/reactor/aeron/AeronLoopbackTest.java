@@ -0,0 +1,166 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.ReplayProcessor;
+import reactor.test.StepVerifier;
+
+class AeronLoopbackTest extends BaseAeronTest {
+
+  private AeronResources resources;
+
+  @BeforeEach
+  void beforeEach() {
+    resources = new AeronResources().useTmpDir().numOfWorkers(2).start().block();
+  }
+
+  @AfterEach
+  void afterEach() {
+    if (resources != null) {
+      resources.dispose();
+      resources.onDispose().block(TIMEOUT);
+    }
+  }
+
+  @Test
+  public void testRequestResponse() {
+    int count = 10_000;
+
+    AeronConnection connection =
+        AeronLoopback.create(resources)
+            .handlePeer(
+                peer -> peer.outbound().send(peer.inbound().receive()).then(peer.onDispose()))
+            .connect()
+            .block(TIMEOUT);
+
+    connection.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection.inbound().receive().asString())
+        .expectNextCount(count)
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testSlowConsumerBackpressuresPublisher() {
+    int count = 1_000;
+    char[] chars = new char[256];
+    Arrays.fill(chars, 'a');
+    String payload = new String(chars);
+
+    ReplayProcessor<String> received = ReplayProcessor.create();
+
+    AeronConnection connection =
+        AeronLoopback.create(resources)
+            .options(options -> options.loopbackCapacity(4096))
+            .handlePeer(
+                peer -> {
+                  peer.inbound()
+                      .receive()
+                      .asString()
+                      .limitRate(1)
+                      .delayElements(Duration.ofMillis(1))
+                      .subscribe(received);
+                  return peer.onDispose();
+                })
+            .connect()
+            .block(TIMEOUT);
+
+    connection.outbound().sendString(Flux.range(0, count).map(i -> payload)).then().subscribe();
+
+    StepVerifier.create(received.take(count))
+        .expectNextCount(count)
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testEmptyMessagesArePublishedOnce() {
+    ReplayProcessor<String> received = ReplayProcessor.create();
+
+    AeronConnection connection =
+        AeronLoopback.create(resources)
+            .handlePeer(
+                peer -> {
+                  peer.inbound().receive().asString().subscribe(received);
+                  return peer.onDispose();
+                })
+            .connect()
+            .block(TIMEOUT);
+
+    connection.outbound().sendString(Flux.just("", "", "last")).then().subscribe();
+
+    StepVerifier.create(received)
+        .expectNext("", "", "last")
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testOversizedMessageFailsOnlyItsSend() {
+    ReplayProcessor<String> received = ReplayProcessor.create();
+
+    // max message length is 1/8 of capacity, i.e. 512 bytes
+    AeronConnection connection =
+        AeronLoopback.create(resources)
+            .options(options -> options.loopbackCapacity(4096))
+            .handlePeer(
+                peer -> {
+                  peer.inbound().receive().asString().subscribe(received);
+                  return peer.onDispose();
+                })
+            .connect()
+            .block(TIMEOUT);
+
+    char[] chars = new char[1024];
+    Arrays.fill(chars, 'a');
+
+    StepVerifier.create(connection.outbound().sendString(Flux.just("first", new String(chars))))
+        .expectErrorSatisfies(
+            ex -> {
+              assertEquals(AeronExceptions.AeronPublicationException.class, ex.getClass());
+              assertTrue(ex.getMessage().contains("exceeds max message length"), ex.getMessage());
+            })
+        .verify(TIMEOUT);
+
+    connection.outbound().sendString(Flux.just("last")).then().block(TIMEOUT);
+
+    assertFalse(connection.isDisposed());
+    StepVerifier.create(received)
+        .expectNext("first", "last")
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testDisposingConnectionDisposesPeer() {
+    ReplayProcessor<AeronConnection> peers = ReplayProcessor.create();
+
+    AeronConnection connection =
+        AeronLoopback.create(resources)
+            .handlePeer(
+                peer -> {
+                  peers.onNext(peer);
+                  return peer.onDispose();
+                })
+            .connect()
+            .block(TIMEOUT);
+
+    AeronConnection peer = peers.blockFirst(TIMEOUT);
+
+    connection.dispose();
+
+    StepVerifier.create(peer.onDispose()).expectComplete().verify(TIMEOUT);
+  }
+}
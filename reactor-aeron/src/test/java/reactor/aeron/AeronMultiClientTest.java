@@ -173,6 +173,47 @@ class AeronMultiClientTest extends BaseAeronTest {
         .verify(CONNECT_TIMEOUT.multipliedBy(CONNECT_RETRY_COUNT));
   }
 
+  @Test
+  public void testMultiClientWithShardedAcceptors() {
+    int shards = 3;
+    int clients = 6;
+
+    serverResources.dispose();
+    serverResources.onDispose().block(TIMEOUT);
+    serverResources = new AeronResources().useTmpDir().numOfWorkers(shards).start().block();
+
+    AeronServer.create(serverResources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(options -> options.acceptorShards(shards))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .send(connection.inbound().receive())
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    for (int i = 0; i < clients; i++) {
+      // unsharded clients land on the first shard
+      int clientShards = i % 2 == 0 ? shards : 1;
+      AeronConnection connection =
+          AeronClient.create(newClientResources())
+              .options("localhost", serverPort, serverControlPort)
+              .options(options -> options.acceptorShards(clientShards))
+              .connect()
+              .block(TIMEOUT);
+
+      String message = "hello" + i;
+      connection.outbound().sendString(Mono.just(message)).then().subscribe();
+
+      StepVerifier.create(connection.inbound().receive().asString().take(1))
+          .expectNext(message)
+          .expectComplete()
+          .verify(TIMEOUT);
+    }
+  }
+
   private AeronResources newClientResources() {
     AeronResources resources = new AeronResources().useTmpDir().singleWorker().start().block();
     clientResources.add(resources);
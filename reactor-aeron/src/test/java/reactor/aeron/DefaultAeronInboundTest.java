@@ -0,0 +1,378 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.aeron.Image;
+import io.aeron.Publication;
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.logbuffer.Header;
+import io.aeron.protocol.DataHeaderFlyweight;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+class DefaultAeronInboundTest {
+
+  private static final int MESSAGE_LENGTH = 64;
+  private static final int WARMUP_MESSAGES = 100_000;
+  private static final int MESSAGES = 1_000_000;
+  private static final long ALLOCATION_TOLERANCE = 1024;
+
+  @Test
+  void testFlyweightInboundDoesNotAllocatePerMessage() {
+    com.sun.management.ThreadMXBean threadMxBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMxBean.isThreadAllocatedMemorySupported());
+    threadMxBean.setThreadAllocatedMemoryEnabled(true);
+
+    Image image = mock(Image.class);
+    AeronEventLoop eventLoop = new AeronEventLoop("test", 0, 0, new BackoffIdleStrategy());
+    DefaultAeronInbound inbound = new DefaultAeronInbound(image, eventLoop, null, null, 8, true);
+
+    DirectBuffer[] received = new DirectBuffer[2];
+    long[] count = new long[1];
+    inbound
+        .receive()
+        .subscribe(
+            buffer -> {
+              if (received[0] == null) {
+                received[0] = buffer;
+              }
+              received[1] = buffer;
+              count[0]++;
+            });
+
+    FragmentHandler fragmentHandler = captureFragmentHandler(inbound, image);
+
+    UnsafeBuffer termBuffer =
+        new UnsafeBuffer(new byte[DataHeaderFlyweight.HEADER_LENGTH + MESSAGE_LENGTH]);
+    termBuffer.putByte(DataHeaderFlyweight.FLAGS_FIELD_OFFSET, FrameDescriptor.UNFRAGMENTED);
+    Header header = new Header(0, 0);
+    header.buffer(termBuffer);
+    header.offset(0);
+
+    deliver(fragmentHandler, termBuffer, header, WARMUP_MESSAGES);
+
+    long threadId = Thread.currentThread().getId();
+    long before = threadMxBean.getThreadAllocatedBytes(threadId);
+    deliver(fragmentHandler, termBuffer, header, MESSAGES);
+    long allocated = threadMxBean.getThreadAllocatedBytes(threadId) - before;
+
+    assertEquals(WARMUP_MESSAGES + MESSAGES, count[0]);
+    assertSame(received[0], received[1]);
+    assertEquals(MESSAGE_LENGTH, received[1].capacity());
+    assertTrue(
+        allocated < ALLOCATION_TOLERANCE,
+        "allocated " + allocated + " bytes for " + MESSAGES + " messages");
+  }
+
+  @Test
+  void testControlledPollHonoursDemandWithinBatchFrame() {
+    int messages = 5;
+    UnsafeBuffer termBuffer =
+        new UnsafeBuffer(
+            new byte[DataHeaderFlyweight.HEADER_LENGTH + messages * 2 * Integer.BYTES]);
+    termBuffer.putByte(DataHeaderFlyweight.FLAGS_FIELD_OFFSET, FrameDescriptor.UNFRAGMENTED);
+    termBuffer.putLong(
+        DataHeaderFlyweight.RESERVED_VALUE_OFFSET,
+        MessageFrames.BATCH_FRAME,
+        ByteOrder.LITTLE_ENDIAN);
+    int index = DataHeaderFlyweight.HEADER_LENGTH;
+    for (int i = 1; i <= messages; i++) {
+      termBuffer.putInt(index, Integer.BYTES);
+      termBuffer.putInt(index + Integer.BYTES, i);
+      index += 2 * Integer.BYTES;
+    }
+    Header header = new Header(0, 0);
+    header.buffer(termBuffer);
+    header.offset(0);
+
+    List<Action> actions = new ArrayList<>();
+    Image image = mock(Image.class);
+    when(image.controlledPoll(any(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              ControlledFragmentHandler handler = invocation.getArgument(0);
+              actions.add(
+                  handler.onFragment(
+                      termBuffer,
+                      DataHeaderFlyweight.HEADER_LENGTH,
+                      termBuffer.capacity() - DataHeaderFlyweight.HEADER_LENGTH,
+                      header));
+              return 1;
+            });
+
+    AeronEventLoop eventLoop = new AeronEventLoop("test", 0, 0, new BackoffIdleStrategy());
+    DefaultAeronInbound inbound = new DefaultAeronInbound(image, eventLoop, null, null, 8, false);
+
+    List<Integer> received = new ArrayList<>();
+    BaseSubscriber<DirectBuffer> subscriber =
+        new BaseSubscriber<DirectBuffer>() {
+          @Override
+          protected void hookOnSubscribe(Subscription subscription) {
+            subscription.request(2);
+          }
+
+          @Override
+          protected void hookOnNext(DirectBuffer buffer) {
+            received.add(buffer.getInt(0));
+          }
+        };
+    inbound.receive().subscribe(subscriber);
+
+    inbound.poll();
+
+    assertEquals(Action.ABORT, actions.get(0));
+    assertEquals(2, received.size());
+
+    inbound.poll();
+
+    assertEquals(1, actions.size(), "image must not be polled without demand");
+
+    subscriber.request(3);
+    inbound.poll();
+
+    assertEquals(Action.CONTINUE, actions.get(1));
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), received);
+  }
+
+  @Test
+  void testReceiveBatchesEmitsOneBatchPerPoll() {
+    int messages = 3;
+    UnsafeBuffer termBuffer =
+        new UnsafeBuffer(new byte[messages * (DataHeaderFlyweight.HEADER_LENGTH + Integer.BYTES)]);
+    Header[] headers = new Header[messages];
+    for (int i = 0; i < messages; i++) {
+      int frameOffset = i * (DataHeaderFlyweight.HEADER_LENGTH + Integer.BYTES);
+      termBuffer.putByte(
+          frameOffset + DataHeaderFlyweight.FLAGS_FIELD_OFFSET, FrameDescriptor.UNFRAGMENTED);
+      termBuffer.putInt(frameOffset + DataHeaderFlyweight.HEADER_LENGTH, i + 1);
+      headers[i] = new Header(0, 0);
+      headers[i].buffer(termBuffer);
+      headers[i].offset(frameOffset);
+    }
+
+    Image image = mock(Image.class);
+    when(image.poll(any(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              FragmentHandler handler = invocation.getArgument(0);
+              for (Header header : headers) {
+                handler.onFragment(
+                    termBuffer,
+                    header.offset() + DataHeaderFlyweight.HEADER_LENGTH,
+                    Integer.BYTES,
+                    header);
+              }
+              return messages;
+            });
+
+    AeronEventLoop eventLoop = new AeronEventLoop("test", 0, 0, new BackoffIdleStrategy());
+    DefaultAeronInbound inbound = new DefaultAeronInbound(image, eventLoop, null, null, 8, false);
+
+    List<List<Integer>> received = new ArrayList<>();
+    inbound
+        .receiveBatches()
+        .subscribe(
+            new BaseSubscriber<DirectBufferBatch>() {
+              @Override
+              protected void hookOnSubscribe(Subscription subscription) {
+                subscription.request(1);
+              }
+
+              @Override
+              protected void hookOnNext(DirectBufferBatch batch) {
+                List<Integer> values = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                  values.add(batch.buffer(i).getInt(batch.offset(i)));
+                }
+                received.add(values);
+              }
+            });
+
+    inbound.poll();
+    inbound.poll();
+
+    verify(image, times(1)).poll(any(), anyInt());
+    assertEquals(Collections.singletonList(Arrays.asList(1, 2, 3)), received);
+  }
+
+  @Test
+  void testSetupFrameIsConsumedWithoutDemand() {
+    AeronEventLoop eventLoop = invokedEventLoop();
+    MessagePublication publication =
+        new MessagePublication(mock(Publication.class), new AeronOptions(), eventLoop);
+
+    List<Action> actions = new ArrayList<>();
+    Image image = imageOf(MessageFrames.SETUP_FRAME, actions);
+    DefaultAeronInbound inbound =
+        new DefaultAeronInbound(image, eventLoop, null, publication, 8, false);
+
+    inbound.poll();
+    inbound.poll();
+
+    assertEquals(Collections.singletonList(Action.CONTINUE), actions, "probed once");
+    assertFalse(publication.isPeerCoalescing(), "coalescing is not enabled on this side");
+
+    dispose(eventLoop);
+  }
+
+  @Test
+  void testMarkedPeerEnablesCoalescingAndIsAnswered() {
+    Publication aeronPublication = mock(Publication.class);
+    when(aeronPublication.isConnected()).thenReturn(true);
+    when(aeronPublication.offer(any(), anyInt(), anyInt(), any())).thenReturn(64L);
+    AeronEventLoop eventLoop = invokedEventLoop();
+    MessagePublication publication =
+        new MessagePublication(
+            aeronPublication, new AeronOptions().outboundCoalescing(true), eventLoop);
+
+    List<Action> actions = new ArrayList<>();
+    Image image = imageOf(MessageFrames.PLAIN_FRAME, actions);
+    DefaultAeronInbound inbound =
+        new DefaultAeronInbound(image, eventLoop, null, publication, 8, false);
+
+    publication.publish();
+    verify(aeronPublication, times(0)).offer(any(), anyInt(), anyInt(), any());
+
+    inbound.poll();
+
+    assertEquals(Collections.singletonList(Action.ABORT), actions, "message must stay in image");
+    assertTrue(publication.isPeerCoalescing());
+
+    // setup frame waits for connected publication on the event loop, not in publish()
+    publication.publish();
+    verify(aeronPublication, times(0)).offer(any(), anyInt(), anyInt(), any());
+
+    for (int i = 0; i < 3; i++) {
+      eventLoop.agentInvoker().invoke();
+    }
+    publication.publish();
+    publication.publish();
+    verify(aeronPublication, times(1))
+        .offer(any(), eq(0), eq(0), eq(MessageFrames.SETUP_FRAME_SUPPLIER));
+
+    dispose(eventLoop);
+  }
+
+  @Test
+  void testLegacyPeerNeverEnablesCoalescing() {
+    AeronEventLoop eventLoop = new AeronEventLoop("test", 0, 0, new BackoffIdleStrategy());
+    MessagePublication publication =
+        new MessagePublication(
+            mock(Publication.class), new AeronOptions().outboundCoalescing(true), eventLoop);
+
+    List<Action> actions = new ArrayList<>();
+    Image image = imageOf(0, actions);
+    DefaultAeronInbound inbound =
+        new DefaultAeronInbound(image, eventLoop, null, publication, 8, false);
+
+    inbound.poll();
+    inbound.poll();
+
+    assertEquals(
+        Collections.singletonList(Action.ABORT), actions, "first frame decides, probed once");
+    assertFalse(publication.isPeerCoalescing());
+  }
+
+  @Test
+  void testRetainCopiesFlyweightBuffer() {
+    UnsafeBuffer flyweight = new UnsafeBuffer(new byte[] {1, 2, 3});
+
+    DirectBuffer copy = DirectBufferFlux.copyOf(flyweight);
+    flyweight.putByte(0, (byte) 42);
+
+    assertEquals(3, copy.capacity());
+    assertEquals(1, copy.getByte(0));
+  }
+
+  private AeronEventLoop invokedEventLoop() {
+    AeronEventLoop eventLoop =
+        new AeronEventLoop(
+            "test-invoked-event-loop",
+            0,
+            System.identityHashCode(this),
+            new BackoffIdleStrategy(),
+            false,
+            AeronEventLoop.DEFAULT_COMMAND_QUEUE_CAPACITY,
+            AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT,
+            true,
+            false);
+    eventLoop.agentInvoker().start();
+    return eventLoop;
+  }
+
+  private static void dispose(AeronEventLoop eventLoop) {
+    eventLoop.dispose();
+    eventLoop.agentInvoker().invoke();
+    eventLoop.agentInvoker().close();
+  }
+
+  /**
+   * Mocks image holding single empty frame with given reserved value.
+   *
+   * @param reservedValue reserved value of the frame
+   * @param actions actions returned by controlled fragment handler
+   * @return image
+   */
+  private static Image imageOf(long reservedValue, List<Action> actions) {
+    UnsafeBuffer termBuffer = new UnsafeBuffer(new byte[DataHeaderFlyweight.HEADER_LENGTH]);
+    termBuffer.putByte(DataHeaderFlyweight.FLAGS_FIELD_OFFSET, FrameDescriptor.UNFRAGMENTED);
+    termBuffer.putLong(
+        DataHeaderFlyweight.RESERVED_VALUE_OFFSET, reservedValue, ByteOrder.LITTLE_ENDIAN);
+    Header header = new Header(0, 0);
+    header.buffer(termBuffer);
+    header.offset(0);
+
+    Image image = mock(Image.class);
+    when(image.controlledPoll(any(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              ControlledFragmentHandler handler = invocation.getArgument(0);
+              Action action =
+                  handler.onFragment(termBuffer, DataHeaderFlyweight.HEADER_LENGTH, 0, header);
+              actions.add(action);
+              return action == Action.ABORT ? 0 : 1;
+            });
+    return image;
+  }
+
+  private static FragmentHandler captureFragmentHandler(DefaultAeronInbound inbound, Image image) {
+    inbound.poll();
+    ArgumentCaptor<FragmentHandler> captor = ArgumentCaptor.forClass(FragmentHandler.class);
+    verify(image).poll(captor.capture(), anyInt());
+    return captor.getValue();
+  }
+
+  private static void deliver(
+      FragmentHandler fragmentHandler, DirectBuffer termBuffer, Header header, int messages) {
+    for (int i = 0; i < messages; i++) {
+      fragmentHandler.onFragment(
+          termBuffer, DataHeaderFlyweight.HEADER_LENGTH, MESSAGE_LENGTH, header);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class DurationHistogramTest {
+
+  @Test
+  void testPercentilesWithinBucketPrecision() {
+    DurationHistogram histogram = new DurationHistogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value);
+    }
+
+    assertWithinPrecision(50_000, histogram.valueAtPercentile(50));
+    assertWithinPrecision(99_000, histogram.valueAtPercentile(99));
+    assertWithinPrecision(99_900, histogram.valueAtPercentile(99.9));
+    assertEquals(100_000, histogram.valueAtPercentile(100));
+    assertEquals(100_000, histogram.maxValue());
+  }
+
+  @Test
+  void testResetClearsRecordedValues() {
+    DurationHistogram histogram = new DurationHistogram();
+    histogram.record(7);
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, histogram.valueAtPercentile(100));
+
+    histogram.reset();
+
+    assertEquals(0, histogram.totalCount());
+    assertEquals(0, histogram.valueAtPercentile(99));
+    assertEquals(0, histogram.maxValue());
+  }
+
+  private static void assertWithinPrecision(long expected, long actual) {
+    assertTrue(
+        actual >= expected && actual <= expected + expected / 8,
+        "expected " + expected + " within 12.5%, actual " + actual);
+  }
+}
@@ -0,0 +1,89 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.junit.jupiter.api.Test;
+
+class EventLoopPlacementTest {
+
+  private final AeronEventLoop[] eventLoops =
+      IntStream.range(0, 4)
+          .mapToObj(i -> new AeronEventLoop("test", i, 0, new BackoffIdleStrategy()))
+          .toArray(AeronEventLoop[]::new);
+
+  private final AtomicInteger seq = new AtomicInteger();
+
+  @Test
+  void testRoundRobinVisitsAllEventLoops() {
+    assertEquals(eventLoops.length, select(EventLoopPlacement.roundRobin(), null).size());
+  }
+
+  @Test
+  void testLeastConnectionsRotatesOnTies() {
+    assertEquals(eventLoops.length, select(EventLoopPlacement.leastConnections(), null).size());
+  }
+
+  @Test
+  void testLeastLoadedRotatesOnTies() {
+    assertEquals(eventLoops.length, select(EventLoopPlacement.leastLoaded(), null).size());
+  }
+
+  @Test
+  void testStickyKeepsSameKeyOnSameEventLoop() {
+    EventLoopPlacement placement = EventLoopPlacement.sticky();
+    AeronEventLoop eventLoop = placement.select(eventLoops, seq.getAndIncrement(), "10.0.0.1");
+
+    assertEquals(1, select(placement, "10.0.0.1").size());
+    assertSame(eventLoop, placement.select(eventLoops, seq.getAndIncrement(), "10.0.0.1"));
+  }
+
+  @Test
+  void testRoundRobinIsNotSkewedByOtherGroups() {
+    AeronEventLoopGroup group1 = newGroup("test-group1");
+    AeronEventLoopGroup group2 = newGroup("test-group2");
+    try {
+      EventLoopPlacement placement = EventLoopPlacement.roundRobin();
+      Set<AeronEventLoop> selected1 = new HashSet<>();
+      Set<AeronEventLoop> selected2 = new HashSet<>();
+      for (int i = 0; i < 2; i++) {
+        selected1.add(group1.next(placement, null));
+        selected2.add(group2.next(placement, null));
+      }
+      assertEquals(2, selected1.size());
+      assertEquals(2, selected2.size());
+    } finally {
+      group1.dispose();
+      group2.dispose();
+      group1.onDispose().block(Duration.ofSeconds(5));
+      group2.onDispose().block(Duration.ofSeconds(5));
+    }
+  }
+
+  private static AeronEventLoopGroup newGroup(String name) {
+    return new AeronEventLoopGroup(
+        name,
+        2,
+        BackoffIdleStrategy::new,
+        false,
+        AeronEventLoop.DEFAULT_COMMAND_QUEUE_CAPACITY,
+        AeronEventLoop.DEFAULT_COMMAND_DRAIN_LIMIT,
+        false,
+        false,
+        false);
+  }
+
+  private Set<AeronEventLoop> select(EventLoopPlacement placement, Object key) {
+    Set<AeronEventLoop> result = new HashSet<>();
+    for (int i = 0; i < eventLoops.length; i++) {
+      result.add(placement.select(eventLoops, seq.getAndIncrement(), key));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,68 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ResourceArrayTest {
+
+  @Test
+  void testAddIgnoresDuplicates() {
+    ResourceArray<String> array = new ResourceArray<>();
+    String element = "a";
+
+    assertTrue(array.add(element));
+    assertFalse(array.add(element));
+    assertEquals(1, array.size());
+  }
+
+  @Test
+  void testRemoveMovesLastElementIntoFreedSlot() {
+    ResourceArray<String> array = new ResourceArray<>();
+    String a = "a";
+    String b = "b";
+    String c = "c";
+    array.add(a);
+    array.add(b);
+    array.add(c);
+
+    assertTrue(array.remove(a));
+    assertFalse(array.remove(a));
+
+    assertEquals(2, array.size());
+    assertEquals(c, array.get(0));
+    assertEquals(b, array.get(1));
+    assertTrue(array.contains(c));
+    assertFalse(array.contains(a));
+  }
+
+  @Test
+  void testGrowsBeyondInitialCapacity() {
+    Object[] elements = new Object[100];
+    ResourceArray<Object> array = new ResourceArray<>();
+    for (int i = 0; i < elements.length; i++) {
+      elements[i] = new Object();
+      array.add(elements[i]);
+    }
+    Set<Object> expected = new HashSet<>();
+    for (int i = 0; i < elements.length; i++) {
+      if (i % 2 == 0) {
+        array.remove(elements[i]);
+      } else {
+        expected.add(elements[i]);
+      }
+    }
+
+    assertEquals(expected.size(), array.size());
+    assertEquals(expected, new HashSet<>(array.toList()));
+
+    array.clear();
+
+    assertEquals(0, array.size());
+    assertFalse(array.contains(elements[1]));
+  }
+}